@@ -6,14 +6,18 @@ import io.swagger.v3.oas.annotations.info.Info;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
 
 import java.util.Arrays;
 
 @OpenAPIDefinition(info = @Info(title = "Bucket Service API", version = "v1"))
 @SpringBootApplication(scanBasePackages = {"com.s3.bucket", "com.s3.common"})
+@EntityScan(basePackages = {"com.s3.bucket", "com.s3.common.events.outbox"})
+@EnableJpaRepositories(basePackages = {"com.s3.bucket", "com.s3.common.events.outbox"})
 @Import(CommonSecurityConfig.class)
 public class BucketServiceApplication {
 
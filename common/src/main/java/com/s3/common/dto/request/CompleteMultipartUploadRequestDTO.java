@@ -0,0 +1,18 @@
+package com.s3.common.dto.request;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Parts to assemble into the final object, in ascending part number order")
+public class CompleteMultipartUploadRequestDTO {
+
+    @Schema(description = "Uploaded parts with the checksum returned for each", required = true)
+    private List<CompletedPartDTO> parts;
+}
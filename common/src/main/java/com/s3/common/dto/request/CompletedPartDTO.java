@@ -0,0 +1,19 @@
+package com.s3.common.dto.request;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "A single uploaded part referenced when completing a multipart upload")
+public class CompletedPartDTO {
+
+    @Schema(description = "Part number (1-10000)", example = "1", required = true)
+    private int partNumber;
+
+    @Schema(description = "SHA-256 checksum returned when the part was uploaded", required = true)
+    private String checksum;
+}
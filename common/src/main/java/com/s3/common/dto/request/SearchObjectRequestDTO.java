@@ -1,4 +1,6 @@
 package com.s3.common.dto.request;
+import com.s3.common.enums.SearchSortField;
+import com.s3.common.enums.TagMatch;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.Data;
 
@@ -12,10 +14,34 @@ public class SearchObjectRequestDTO {
     @Schema(description = "Partial file name",example = "homeDoc.pdf")
     private String fileName;
 
+    @Schema(description = "File name prefix", example = "reports/2024/")
+    private String fileNamePrefix;
+
     @Schema(description = "Partial description", example = "Home Documents")
     private String description;
 
-    @Schema(description = "Tags (OR semantics)", example = "[\"images\", \"doc\"]"
+    @Schema(description = "Tags", example = "[\"images\", \"doc\"]"
     )
     private List<String> tags;
+
+    @Schema(description = "ANY = object has at least one of the tags, ALL = object has every tag", example = "ANY")
+    private TagMatch tagMatch = TagMatch.ANY;
+
+    @Schema(description = "Tags the object must not have", example = "[\"archived\"]")
+    private List<String> excludeTags;
+
+    @Schema(description = "Sort field; ties are broken by id", example = "FILE_NAME")
+    private SearchSortField sortBy = SearchSortField.FILE_NAME;
+
+    @Schema(description = "Sort in descending order", example = "false")
+    private boolean descending = false;
+
+    @Schema(description = "Zero-based page number (ignored when cursor is set)", example = "0")
+    private int page = 0;
+
+    @Schema(description = "Page size (1-100)", example = "20")
+    private int size = 20;
+
+    @Schema(description = "nextCursor from a previous response: continue after it without counting or offset scans")
+    private String cursor;
 }
@@ -0,0 +1,42 @@
+package com.s3.common.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+@Schema(description = "Progress of the background job removing a deleted bucket's objects")
+public class BucketDeletionStatusDTO {
+
+    @Schema(description = "Bucket name", example = "my-bucket")
+    private String bucketName;
+
+    @Schema(description = "Job status", example = "RUNNING", allowableValues = {"PENDING", "RUNNING", "COMPLETED"})
+    private String status;
+
+    @Schema(description = "Number of objects deleted so far", example = "125000")
+    private long objectsDeleted;
+
+    @Schema(description = "Number of stored files that could not be removed", example = "0")
+    private long filesFailed;
+
+    @Schema(description = "Last object key deleted; the job resumes after it", example = "photos/2024/img_0412.jpg")
+    private String lastKey;
+
+    @Schema(description = "Last error, if the most recent attempt failed")
+    private String lastError;
+
+    @Schema(description = "When the bucket deletion was received", example = "2025-10-02T10:15:30Z")
+    private Instant createdAt;
+
+    @Schema(description = "When progress was last recorded", example = "2025-10-02T10:16:30Z")
+    private Instant updatedAt;
+
+    @Schema(description = "When the job finished", example = "2025-10-02T10:20:00Z")
+    private Instant completedAt;
+}
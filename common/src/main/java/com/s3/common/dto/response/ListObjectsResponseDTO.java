@@ -0,0 +1,45 @@
+package com.s3.common.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+@Schema(description = "One page of objects in a bucket")
+public class ListObjectsResponseDTO {
+
+    @Schema(description = "Bucket name", example = "my-bucket")
+    private String bucketName;
+
+    @Schema(description = "Prefix the listed keys start with", example = "photos/")
+    private String prefix;
+
+    @Schema(description = "Delimiter used to group keys into common prefixes", example = "/")
+    private String delimiter;
+
+    @Schema(description = "Maximum number of keys and common prefixes requested", example = "1000")
+    private int maxKeys;
+
+    @Schema(description = "Number of keys and common prefixes returned in this page", example = "2")
+    private int keyCount;
+
+    @Schema(description = "Whether more results are available", example = "true")
+    private boolean truncated;
+
+    @Schema(description = "Continuation token this page was requested with")
+    private String continuationToken;
+
+    @Schema(description = "Token to pass as continuation-token to fetch the next page")
+    private String nextContinuationToken;
+
+    @Schema(description = "Objects in this page, in key order")
+    private List<ObjectResponseDTO> contents;
+
+    @Schema(description = "Key prefixes up to the first delimiter after the prefix", example = "[\"photos/2024/\"]")
+    private List<String> commonPrefixes;
+}
@@ -0,0 +1,27 @@
+package com.s3.common.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+@Schema(description = "A part stored for an in-progress multipart upload")
+public class MultipartPartResponseDTO {
+
+    @Schema(description = "Part number", example = "1")
+    private int partNumber;
+
+    @Schema(description = "Size of the part in bytes", example = "5242880")
+    private long size;
+
+    @Schema(description = "SHA-256 checksum of the part content (Base64)")
+    private String checksum;
+
+    @Schema(description = "Timestamp when the part was (last) uploaded", example = "2025-10-02T10:15:30Z")
+    private Instant uploadedAt;
+}
@@ -0,0 +1,27 @@
+package com.s3.common.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+@Schema(description = "An in-progress multipart upload")
+public class MultipartUploadResponseDTO {
+
+    @Schema(description = "Upload identifier used for part uploads", example = "123e4567-e89b-12d3-a456-426614174000")
+    private String uploadId;
+
+    @Schema(description = "Target bucket", example = "my-bucket")
+    private String bucketName;
+
+    @Schema(description = "Target file name", example = "backup.tar")
+    private String fileName;
+
+    @Schema(description = "Timestamp when the upload was initiated", example = "2025-10-02T10:15:30Z")
+    private Instant initiatedAt;
+}
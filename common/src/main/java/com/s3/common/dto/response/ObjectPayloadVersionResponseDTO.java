@@ -0,0 +1,36 @@
+package com.s3.common.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+@Schema(description = "Stored content of one version of an object")
+public class ObjectPayloadVersionResponseDTO {
+
+    @Schema(description = "Version id, usable as versionId on download", example = "0f8fad5b-d9cb-469f-a165-70867728950e")
+    private String versionId;
+
+    @Schema(description = "Sequential version number within the object", example = "3")
+    private int versionNumber;
+
+    @Schema(description = "Size of this version in bytes", example = "1024")
+    private long size;
+
+    @Schema(description = "SHA-256 of this version (Base64)", example = "n4bQgYhMfWWaL+qgxVrQFaO/TxsrC4Is0V1sFbDwCgg=")
+    private String checksum;
+
+    @Schema(description = "Content type of this version", example = "image/jpeg")
+    private String contentType;
+
+    @Schema(description = "When this version was stored", example = "2025-10-02T10:15:30Z")
+    private Instant createdAt;
+
+    @Schema(description = "Whether downloads without versionId serve this version", example = "true")
+    private boolean current;
+}
@@ -34,4 +34,7 @@ public class ObjectResponseDTO {
 
     @Schema(description = "To define the content type of file for download", example = "binary")
     private String contentType;
+
+    @Schema(description = "Id of the current version of the content", example = "0f8fad5b-d9cb-469f-a165-70867728950e")
+    private String versionId;
 }
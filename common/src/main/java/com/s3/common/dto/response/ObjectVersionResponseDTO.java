@@ -10,4 +10,5 @@ public class ObjectVersionResponseDTO {
     private boolean active;
     private String checksum;
     private String storagePath;
+    private String payloadVersionId;
 }
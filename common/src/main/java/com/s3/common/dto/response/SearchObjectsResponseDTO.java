@@ -0,0 +1,33 @@
+package com.s3.common.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+@Schema(description = "One page of metadata search results")
+public class SearchObjectsResponseDTO {
+
+    @Schema(description = "Matching objects on this page")
+    private List<ObjectMetadataResponseDTO> items;
+
+    @Schema(description = "Zero-based page number (null for cursor requests)", example = "0")
+    private Integer page;
+
+    @Schema(description = "Page size", example = "20")
+    private int size;
+
+    @Schema(description = "Total number of matching objects (null for cursor requests)", example = "1342")
+    private Long totalElements;
+
+    @Schema(description = "Total number of pages (null for cursor requests)", example = "68")
+    private Integer totalPages;
+
+    @Schema(description = "Cursor for the next page, null on the last page")
+    private String nextCursor;
+}
@@ -0,0 +1,7 @@
+package com.s3.common.enums;
+
+public enum SearchSortField {
+    FILE_NAME,
+    CREATED_AT,
+    UPDATED_AT
+}
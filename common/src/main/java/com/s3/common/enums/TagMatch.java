@@ -0,0 +1,6 @@
+package com.s3.common.enums;
+
+public enum TagMatch {
+    ANY,
+    ALL
+}
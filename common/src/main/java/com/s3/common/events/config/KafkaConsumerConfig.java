@@ -2,12 +2,14 @@ package com.s3.common.events.config;
 
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.common.serialization.StringDeserializer;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.core.ConsumerFactory;
 import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.listener.ConsumerAwareRebalanceListener;
 import org.springframework.kafka.support.serializer.JsonDeserializer;
 
 import java.util.HashMap;
@@ -17,9 +19,14 @@ import java.util.Map;
 public class KafkaConsumerConfig {
 
     private final KafkaProperties kafkaProperties;
+    private final ObjectProvider<ConsumerAwareRebalanceListener> rebalanceListener;
 
-    public KafkaConsumerConfig(KafkaProperties kafkaProperties) {
+    public KafkaConsumerConfig(
+            KafkaProperties kafkaProperties,
+            ObjectProvider<ConsumerAwareRebalanceListener> rebalanceListener
+    ) {
         this.kafkaProperties = kafkaProperties;
+        this.rebalanceListener = rebalanceListener;
     }
 
     @Bean
@@ -60,6 +67,22 @@ public class KafkaConsumerConfig {
                 new ConcurrentKafkaListenerContainerFactory<>();
 
         factory.setConsumerFactory(consumerFactory());
+        applyConcurrency(factory);
+        rebalanceListener.ifAvailable(
+                listener -> factory.getContainerProperties().setConsumerRebalanceListener(listener)
+        );
         return factory;
     }
+
+    /**
+     * Consumer threads per listener ({@code spring.kafka.listener.concurrency});
+     * partitions are spread over them, so values above the partition count
+     * leave threads idle.
+     */
+    private void applyConcurrency(ConcurrentKafkaListenerContainerFactory<?, ?> factory) {
+        Integer concurrency = kafkaProperties.getListener().getConcurrency();
+        if (concurrency != null) {
+            factory.setConcurrency(concurrency);
+        }
+    }
 }
\ No newline at end of file
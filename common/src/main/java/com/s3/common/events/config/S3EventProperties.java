@@ -10,6 +10,7 @@ public class S3EventProperties {
 
     private String serviceName;
     private Map<String, String> topics;
+    private Outbox outbox = new Outbox();
 
     public String getServiceName() {
         return serviceName;
@@ -26,4 +27,76 @@ public class S3EventProperties {
     public void setTopics(Map<String, String> topics) {
         this.topics = topics;
     }
+
+    public Outbox getOutbox() {
+        return outbox;
+    }
+
+    public void setOutbox(Outbox outbox) {
+        this.outbox = outbox;
+    }
+
+    /** Transactional outbox relay settings ({@code s3.events.outbox.*}). */
+    public static class Outbox {
+
+        private boolean enabled;
+        /** This service's outbox table; services sharing a database need distinct tables */
+        private String table = "event_outbox";
+        /** Rows published per relay run */
+        private int batchSize = 200;
+        /** How long the relay waits for broker acks of a batch */
+        private long sendTimeoutMs = 10000;
+        /** Upper bound for the retry backoff of a failing row */
+        private long maxBackoffMs = 300000;
+        /** Sent rows are purged after this many hours */
+        private int retentionHours = 24;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public String getTable() {
+            return table;
+        }
+
+        public void setTable(String table) {
+            this.table = table;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public long getSendTimeoutMs() {
+            return sendTimeoutMs;
+        }
+
+        public void setSendTimeoutMs(long sendTimeoutMs) {
+            this.sendTimeoutMs = sendTimeoutMs;
+        }
+
+        public long getMaxBackoffMs() {
+            return maxBackoffMs;
+        }
+
+        public void setMaxBackoffMs(long maxBackoffMs) {
+            this.maxBackoffMs = maxBackoffMs;
+        }
+
+        public int getRetentionHours() {
+            return retentionHours;
+        }
+
+        public void setRetentionHours(int retentionHours) {
+            this.retentionHours = retentionHours;
+        }
+    }
 }
@@ -0,0 +1,99 @@
+package com.s3.common.events.consumer;
+
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Runs the items of one poll in parallel while keeping items with the same
+ * key in order.
+ * <p>
+ * Items are split into {@code lanes} by key hash; each lane is handed to
+ * {@code laneTask} in the original order on a pool thread, and the call
+ * returns only when every lane is done, so offsets are still committed
+ * after processing. Events are keyed by objectId / bucketName, which makes
+ * per-object ordering hold while different objects use all cores.
+ */
+public class KeyOrderedExecutor {
+
+    private final int lanes;
+    private final ExecutorService pool;
+
+    public KeyOrderedExecutor(int lanes) {
+        this.lanes = Math.max(1, lanes);
+        this.pool = Executors.newFixedThreadPool(
+                this.lanes,
+                new CustomizableThreadFactory("event-worker-")
+        );
+    }
+
+    public int getLanes() {
+        return lanes;
+    }
+
+    /**
+     * Calls {@code laneTask} once per non-empty lane and waits for all of
+     * them. The first failure is rethrown once every lane has finished.
+     */
+    public <T> void executeByKey(
+            List<T> items,
+            Function<? super T, String> keyOf,
+            Consumer<List<T>> laneTask
+    ) {
+        Map<Integer, List<T>> byLane = new LinkedHashMap<>();
+        for (T item : items) {
+            byLane.computeIfAbsent(laneOf(keyOf.apply(item)), lane -> new ArrayList<>()).add(item);
+        }
+
+        if (byLane.size() <= 1) {
+            byLane.values().forEach(laneTask);
+            return;
+        }
+
+        List<Future<?>> futures = new ArrayList<>(byLane.size());
+        byLane.values().forEach(laneItems -> futures.add(pool.submit(() -> laneTask.accept(laneItems))));
+
+        RuntimeException failure = null;
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                failure = addFailure(failure, new IllegalStateException("Interrupted while processing events", e));
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                failure = addFailure(failure, cause instanceof RuntimeException runtime
+                        ? runtime
+                        : new IllegalStateException(cause));
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    private int laneOf(String key) {
+        return key == null ? 0 : Math.floorMod(key.hashCode(), lanes);
+    }
+
+    private static RuntimeException addFailure(RuntimeException first, RuntimeException next) {
+        if (first == null) {
+            return next;
+        }
+        first.addSuppressed(next);
+        return first;
+    }
+}
@@ -4,6 +4,8 @@ public enum S3EventType {
     OBJECT_CREATED,
     OBJECT_UPDATED,
     OBJECT_DELETED,
+    OBJECTS_VERSIONING_UPDATED,
+    OBJECTS_DELETED,
 
     BUCKET_UPDATED,
     BUCKET_DELETED,
@@ -0,0 +1,126 @@
+package com.s3.common.events.idempotency;
+
+import com.s3.common.events.enums.S3EventSource;
+import com.s3.common.logging.LoggingUtil;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.common.TopicPartition;
+import org.slf4j.Logger;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.kafka.listener.ConsumerAwareRebalanceListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Processed-event bookkeeping for a service's event consumers.
+ * <p>
+ * Lookups go through a {@link ProcessedEventFilter} first, so only possible
+ * duplicates reach the database. The filter is rebuilt from the table at
+ * startup and after each purge, and topped up with ids processed by other
+ * replicas whenever partitions are assigned to this one.
+ * <p>
+ * Services register a {@code @Service} subclass, which also makes it the
+ * listener containers' rebalance listener. Their JPA scanning must include
+ * this package.
+ */
+public abstract class AbstractEventIdempotencyService implements ConsumerAwareRebalanceListener {
+
+    private static final Logger log = LoggingUtil.getLogger(AbstractEventIdempotencyService.class);
+
+    // Covers rows inserted before, but committed after, the previous sync
+    private static final Duration SYNC_OVERLAP = Duration.ofMinutes(5);
+
+    protected final ProcessedEventRepository repository;
+    protected final ProcessedEventFilter filter;
+    private final Duration retention;
+
+    private volatile Instant lastSync = Instant.EPOCH;
+
+    protected AbstractEventIdempotencyService(
+            ProcessedEventRepository repository,
+            int recentCapacity,
+            double falsePositiveRate,
+            long retentionHours
+    ) {
+        this.repository = repository;
+        this.filter = new ProcessedEventFilter(recentCapacity, falsePositiveRate);
+        this.retention = Duration.ofHours(retentionHours);
+    }
+
+    @Transactional(readOnly = true)
+    public boolean isAlreadyProcessed(String eventId) {
+        if (filter.isKnownProcessed(eventId)) {
+            return true;
+        }
+        if (!filter.mightBeProcessed(eventId)) {
+            return false;
+        }
+        return repository.existsById(eventId);
+    }
+
+    @Transactional
+    public void markProcessed(
+            String eventId,
+            String eventType,
+            S3EventSource sourceService
+    ) {
+        repository.save(
+                new ProcessedEventEntity(
+                        eventId,
+                        eventType.toString(),
+                        sourceService.toString(),
+                        null
+                )
+        );
+        recordAfterCommit(List.of(eventId));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuildFilter() {
+        Instant started = Instant.now();
+        long expected = repository.count();
+        try (Stream<String> eventIds = repository.streamAllEventIds()) {
+            filter.rebuild(eventIds.iterator(), expected);
+        }
+        lastSync = started;
+        log.info("Rebuilt processed-event filter from {} rows", expected);
+    }
+
+    @Scheduled(fixedDelayString = "${s3.events.idempotency.purge-interval-ms:3600000}")
+    @Transactional
+    public void purgeExpired() {
+        Instant before = Instant.now().minus(retention);
+        int purged = repository.deleteProcessedBefore(before);
+        if (purged > 0) {
+            log.info("Purged {} processed events older than {}", purged, before);
+            rebuildFilter();
+        }
+    }
+
+    @Override
+    public void onPartitionsAssigned(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+        // Redelivered records may have been processed by the previous owner
+        Instant started = Instant.now();
+        filter.addAll(repository.findEventIdsProcessedSince(lastSync.minus(SYNC_OVERLAP)));
+        lastSync = started;
+    }
+
+    // Ids only become authoritative once the marking transaction commits
+    protected void recordAfterCommit(List<String> eventIds) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                eventIds.forEach(filter::record);
+            }
+        });
+    }
+}
@@ -1,4 +1,4 @@
-package com.s3.metadata.event.idempotency;
+package com.s3.common.events.idempotency;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
@@ -12,6 +12,10 @@ import org.hibernate.annotations.CreationTimestamp;
 
 import java.time.Instant;
 
+/**
+ * An event a consumer has applied, kept so redeliveries are skipped; see
+ * {@link AbstractEventIdempotencyService}.
+ */
 @Entity
 @Table(name = "processed_events")
 @Getter
@@ -0,0 +1,155 @@
+package com.s3.common.events.idempotency;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * In-memory pre-check in front of a processed-events table.
+ * <p>
+ * Two layers answer most lookups without the database:
+ * <ul>
+ *   <li>an LRU of recently processed event ids: a hit means "processed";</li>
+ *   <li>a Bloom filter over every id in the table: a miss means "new".</li>
+ * </ul>
+ * Only Bloom hits outside the LRU (rare duplicates and false positives)
+ * fall through to the table. Until the first {@link #rebuild} the filter is
+ * not trusted and every lookup falls through.
+ * <p>
+ * Ids must be {@link #record recorded} only after the transaction marking
+ * them processed has committed, otherwise a rolled back event would be
+ * skipped on redelivery.
+ */
+public class ProcessedEventFilter {
+
+    private static final int MIN_EXPECTED_INSERTIONS = 100_000;
+
+    private final double falsePositiveRate;
+    private final Map<String, Boolean> recent;
+
+    private volatile BloomFilter bloom;
+    private volatile boolean ready;
+
+    public ProcessedEventFilter(int recentCapacity, double falsePositiveRate) {
+        this.falsePositiveRate = falsePositiveRate;
+        this.recent = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+                return size() > recentCapacity;
+            }
+        });
+        this.bloom = new BloomFilter(MIN_EXPECTED_INSERTIONS, falsePositiveRate);
+    }
+
+    /** {@code true} if the id is known to be processed, no lookup needed. */
+    public boolean isKnownProcessed(String eventId) {
+        return recent.get(eventId) != null;
+    }
+
+    /** {@code false} if the id is certainly new, no lookup needed. */
+    public boolean mightBeProcessed(String eventId) {
+        return !ready || bloom.mightContain(eventId);
+    }
+
+    public void record(String eventId) {
+        recent.put(eventId, Boolean.TRUE);
+        bloom.put(eventId);
+    }
+
+    /** Adds ids processed elsewhere (e.g. by another replica) to the Bloom filter. */
+    public void addAll(Iterable<String> eventIds) {
+        BloomFilter current = bloom;
+        eventIds.forEach(current::put);
+    }
+
+    /**
+     * Replaces the Bloom filter with one built from the full table. Ids
+     * recorded meanwhile are carried over from the LRU.
+     */
+    public void rebuild(Iterator<String> eventIds, long expectedInsertions) {
+        BloomFilter rebuilt = new BloomFilter(
+                Math.max(MIN_EXPECTED_INSERTIONS, expectedInsertions * 2),
+                falsePositiveRate
+        );
+        eventIds.forEachRemaining(rebuilt::put);
+
+        List<String> recentIds;
+        synchronized (recent) {
+            recentIds = new ArrayList<>(recent.keySet());
+        }
+        recentIds.forEach(rebuilt::put);
+
+        bloom = rebuilt;
+        ready = true;
+    }
+
+    /** Lock-free Bloom filter using double hashing over a 64-bit hash. */
+    private static final class BloomFilter {
+
+        private final AtomicLongArray bits;
+        private final long bitCount;
+        private final int hashCount;
+
+        private BloomFilter(long expectedInsertions, double falsePositiveRate) {
+            long bitsNeeded = (long) Math.ceil(
+                    -expectedInsertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2))
+            );
+            int words = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(1, (bitsNeeded + 63) / 64));
+            this.bits = new AtomicLongArray(words);
+            this.bitCount = (long) words * 64;
+            this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedInsertions * Math.log(2)));
+        }
+
+        void put(String value) {
+            long hash = hash(value);
+            long h1 = hash;
+            long h2 = mix(hash ^ 0x9E3779B97F4A7C15L);
+            for (int i = 0; i < hashCount; i++) {
+                long bit = Math.floorMod(h1 + i * h2, bitCount);
+                int word = (int) (bit >>> 6);
+                long mask = 1L << bit;
+                long current;
+                do {
+                    current = bits.get(word);
+                    if ((current & mask) != 0) {
+                        break;
+                    }
+                } while (!bits.compareAndSet(word, current, current | mask));
+            }
+        }
+
+        boolean mightContain(String value) {
+            long hash = hash(value);
+            long h1 = hash;
+            long h2 = mix(hash ^ 0x9E3779B97F4A7C15L);
+            for (int i = 0; i < hashCount; i++) {
+                long bit = Math.floorMod(h1 + i * h2, bitCount);
+                if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /** FNV-1a over UTF-8, finished with a SplitMix64 mix. */
+        private static long hash(String value) {
+            long hash = 0xcbf29ce484222325L;
+            for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+                hash ^= b;
+                hash *= 0x100000001b3L;
+            }
+            return mix(hash);
+        }
+
+        private static long mix(long z) {
+            z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+            z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+            return z ^ (z >>> 31);
+        }
+    }
+}
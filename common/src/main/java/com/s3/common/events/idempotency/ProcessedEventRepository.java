@@ -0,0 +1,24 @@
+package com.s3.common.events.idempotency;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface ProcessedEventRepository
+        extends JpaRepository<ProcessedEventEntity, String> {
+
+    @Query("select e.eventId from ProcessedEventEntity e")
+    Stream<String> streamAllEventIds();
+
+    @Query("select e.eventId from ProcessedEventEntity e where e.processedAt >= :since")
+    List<String> findEventIdsProcessedSince(@Param("since") Instant since);
+
+    @Modifying
+    @Query("delete from ProcessedEventEntity e where e.processedAt < :before")
+    int deleteProcessedBefore(@Param("before") Instant before);
+}
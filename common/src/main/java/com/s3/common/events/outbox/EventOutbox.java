@@ -0,0 +1,54 @@
+package com.s3.common.events.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.s3.common.logging.LoggingUtil;
+import org.slf4j.Logger;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+
+/**
+ * Records events in the service's outbox table as part of the caller's
+ * transaction, so an event exists if and only if the change it describes
+ * was committed. {@link OutboxRelay} publishes the rows afterwards.
+ */
+@Component
+@ConditionalOnProperty(
+        prefix = "s3.events.outbox",
+        name = "enabled",
+        havingValue = "true"
+)
+public class EventOutbox {
+
+    private static final Logger log = LoggingUtil.getLogger(EventOutbox.class);
+
+    private final OutboxEventRepository repository;
+    private final ObjectMapper objectMapper;
+
+    public EventOutbox(OutboxEventRepository repository, ObjectMapper objectMapper) {
+        this.repository = repository;
+        this.objectMapper = objectMapper;
+    }
+
+    @Transactional
+    public void append(String topic, String key, Object event) {
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Event is not serializable", e);
+        }
+
+        OutboxEventEntity entity = repository.save(OutboxEventEntity.builder()
+                .topic(topic)
+                .eventKey(key)
+                .payload(payload)
+                .nextAttemptAt(Instant.now())
+                .build());
+
+        log.debug("Queued outbox event [{}] for topic [{}] key [{}]", entity.getId(), topic, key);
+    }
+}
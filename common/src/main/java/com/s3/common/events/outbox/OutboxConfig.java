@@ -0,0 +1,45 @@
+package com.s3.common.events.outbox;
+
+import com.s3.common.events.config.S3EventProperties;
+import org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy;
+import org.hibernate.boot.model.naming.Identifier;
+import org.hibernate.boot.model.naming.PhysicalNamingStrategy;
+import org.hibernate.engine.jdbc.env.spi.JdbcEnvironment;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables the outbox relay schedule. Services turning the outbox on must
+ * also include this package in their {@code @EntityScan} and
+ * {@code @EnableJpaRepositories}.
+ */
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(
+        prefix = "s3.events.outbox",
+        name = "enabled",
+        havingValue = "true"
+)
+public class OutboxConfig {
+
+    /**
+     * Maps {@link OutboxEventEntity} to {@code s3.events.outbox.table}, so
+     * each service owns its outbox in the shared database. Other names are
+     * left as Spring Boot's default strategy makes them.
+     */
+    @Bean
+    public PhysicalNamingStrategy outboxTableNamingStrategy(S3EventProperties properties) {
+        String table = properties.getOutbox().getTable();
+        return new CamelCaseToUnderscoresNamingStrategy() {
+            @Override
+            public Identifier toPhysicalTableName(Identifier name, JdbcEnvironment context) {
+                if (OutboxEventEntity.TABLE.equals(name.getText())) {
+                    return Identifier.toIdentifier(table, name.isQuoted());
+                }
+                return super.toPhysicalTableName(name, context);
+            }
+        };
+    }
+}
@@ -0,0 +1,60 @@
+package com.s3.common.events.outbox;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.Instant;
+
+/**
+ * An event recorded in the producing transaction, waiting to be relayed to
+ * Kafka by {@link OutboxRelay}. Stored in the service's own outbox table
+ * ({@code s3.events.outbox.table}).
+ */
+@Entity
+@Table(
+        name = OutboxEventEntity.TABLE,
+        indexes = @Index(columnList = "sent_at, next_attempt_at")
+)
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class OutboxEventEntity {
+
+    /** Logical table name; each service maps it to its own table, see {@link OutboxConfig} */
+    public static final String TABLE = "event_outbox";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String topic;
+
+    @Column(name = "event_key")
+    private String eventKey;
+
+    /** Serialized {@code S3Event} */
+    @Column(nullable = false, columnDefinition = "text")
+    private String payload;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private Instant createdAt;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private Instant nextAttemptAt;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    @Column(name = "sent_at")
+    private Instant sentAt;
+}
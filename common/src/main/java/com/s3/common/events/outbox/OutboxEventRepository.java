@@ -0,0 +1,41 @@
+package com.s3.common.events.outbox;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEventEntity, Long> {
+
+    /**
+     * Rows due for sending, in insertion order. A row waits while an earlier
+     * row with the same key is backing off, so a key's events never overtake
+     * each other.
+     */
+    @Query("""
+            select e from OutboxEventEntity e
+            where e.sentAt is null and e.nextAttemptAt <= :now
+              and not exists (
+                  select 1 from OutboxEventEntity p
+                  where p.eventKey = e.eventKey and p.sentAt is null
+                    and p.id < e.id and p.nextAttemptAt > :now
+              )
+            order by e.id
+            """)
+    List<OutboxEventEntity> findPending(@Param("now") Instant now, Pageable pageable);
+
+    @Modifying
+    @Query("delete from OutboxEventEntity e where e.sentAt < :before")
+    int deleteSentBefore(@Param("before") Instant before);
+
+    /**
+     * Transaction-scoped lock so only one replica relays a given outbox table
+     * at a time, keeping row order; other services' relays are not blocked.
+     */
+    @Query(value = "SELECT pg_try_advisory_xact_lock(hashtextextended(:table, 0))", nativeQuery = true)
+    boolean tryRelayLock(@Param("table") String table);
+}
@@ -0,0 +1,171 @@
+package com.s3.common.events.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.s3.common.events.config.S3EventProperties;
+import com.s3.common.events.model.S3Event;
+import com.s3.common.events.service.EventProducer;
+import com.s3.common.logging.LoggingUtil;
+import org.slf4j.Logger;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Publishes pending outbox rows to Kafka in batches.
+ * <p>
+ * Each run sends up to {@code batch-size} rows, then waits for the broker
+ * acks and marks the batch in one transaction. Rows with different keys are
+ * sent concurrently; rows sharing a key are sent one after the other, and
+ * once one fails the key's later rows are held back until it has been
+ * retried. Failed rows are retried with exponential backoff; their error is
+ * kept on the row. A Postgres advisory lock on the service's outbox table
+ * keeps a single relay per table active across replicas, so each key's
+ * rows are sent in insertion order.
+ */
+@Component
+@ConditionalOnProperty(
+        prefix = "s3.events.outbox",
+        name = "enabled",
+        havingValue = "true"
+)
+public class OutboxRelay {
+
+    private static final Logger log = LoggingUtil.getLogger(OutboxRelay.class);
+
+    private static final long BASE_BACKOFF_MS = 1000;
+
+    private final OutboxEventRepository repository;
+    private final EventProducer eventProducer;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final S3EventProperties.Outbox settings;
+
+    public OutboxRelay(
+            OutboxEventRepository repository,
+            EventProducer eventProducer,
+            ObjectMapper objectMapper,
+            TransactionTemplate transactionTemplate,
+            S3EventProperties properties
+    ) {
+        this.repository = repository;
+        this.eventProducer = eventProducer;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = transactionTemplate;
+        this.settings = properties.getOutbox();
+    }
+
+    @Scheduled(fixedDelayString = "${s3.events.outbox.poll-interval-ms:500}")
+    public void relay() {
+        Integer sent;
+        do {
+            sent = transactionTemplate.execute(status -> relayBatch());
+        } while (sent != null && sent >= settings.getBatchSize());
+    }
+
+    @Scheduled(fixedDelayString = "${s3.events.outbox.purge-interval-ms:3600000}")
+    public void purgeSent() {
+        Instant before = Instant.now().minus(Duration.ofHours(settings.getRetentionHours()));
+        Integer purged = transactionTemplate.execute(status -> repository.deleteSentBefore(before));
+        if (purged != null && purged > 0) {
+            log.info("Purged {} sent outbox events older than {}", purged, before);
+        }
+    }
+
+    /** @return number of rows published successfully */
+    private int relayBatch() {
+        if (!repository.tryRelayLock(settings.getTable())) {
+            return 0;
+        }
+
+        List<OutboxEventEntity> batch = repository.findPending(
+                Instant.now(),
+                PageRequest.of(0, settings.getBatchSize())
+        );
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        // A key's next row is sent only once the previous one was acked
+        List<CompletableFuture<?>> sends = new ArrayList<>(batch.size());
+        Map<String, CompletableFuture<?>> lastByKey = new HashMap<>();
+        for (OutboxEventEntity row : batch) {
+            CompletableFuture<?> previous = row.getEventKey() != null ? lastByKey.get(row.getEventKey()) : null;
+            CompletableFuture<?> sent = previous != null ? previous.thenCompose(ack -> send(row)) : send(row);
+            if (row.getEventKey() != null) {
+                lastByKey.put(row.getEventKey(), sent);
+            }
+            sends.add(sent);
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(settings.getSendTimeoutMs());
+        int published = 0;
+        Set<String> failedKeys = new HashSet<>();
+        for (int i = 0; i < batch.size(); i++) {
+            OutboxEventEntity row = batch.get(i);
+            if (row.getEventKey() != null && failedKeys.contains(row.getEventKey())) {
+                // Held back behind a failed row of the same key; stays pending as is
+                continue;
+            }
+            try {
+                sends.get(i).get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                row.setSentAt(Instant.now());
+                published++;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                markFailed(row, e);
+            } catch (ExecutionException | TimeoutException e) {
+                markFailed(row, e);
+            }
+            if (row.getSentAt() == null && row.getEventKey() != null) {
+                failedKeys.add(row.getEventKey());
+            }
+        }
+
+        log.debug("Relayed {} of {} outbox events", published, batch.size());
+        return published;
+    }
+
+    private CompletableFuture<?> send(OutboxEventEntity row) {
+        try {
+            S3Event<?> event = objectMapper.readValue(row.getPayload(), S3Event.class);
+            return eventProducer.send(row.getTopic(), row.getEventKey(), event);
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private void markFailed(OutboxEventEntity row, Exception e) {
+        Throwable cause = e instanceof ExecutionException && e.getCause() != null ? e.getCause() : e;
+        int attempts = row.getAttempts() + 1;
+        long backoff = Math.min(
+                settings.getMaxBackoffMs(),
+                BASE_BACKOFF_MS << Math.min(attempts - 1, 20)
+        );
+
+        row.setAttempts(attempts);
+        row.setLastError(truncate(cause.toString()));
+        row.setNextAttemptAt(Instant.now().plusMillis(backoff));
+
+        log.warn("Outbox event [{}] to [{}] failed (attempt {}), retrying in {} ms: {}",
+                row.getId(), row.getTopic(), attempts, backoff, cause.toString());
+    }
+
+    private static String truncate(String message) {
+        return message.length() <= 1000 ? message : message.substring(0, 1000);
+    }
+}
@@ -9,6 +9,8 @@ import com.s3.common.events.payload.bucket.BucketUpdatedPayload;
 import com.s3.common.events.payload.object.ObjectCreatedPayload;
 import com.s3.common.events.payload.object.ObjectDeletedPayload;
 import com.s3.common.events.payload.object.ObjectUpdatedPayload;
+import com.s3.common.events.payload.object.ObjectsDeletedPayload;
+import com.s3.common.events.payload.object.ObjectsVersioningUpdatedPayload;
 
 @JsonTypeInfo(
         use = JsonTypeInfo.Id.NAME,
@@ -19,6 +21,8 @@ import com.s3.common.events.payload.object.ObjectUpdatedPayload;
         @JsonSubTypes.Type(value = ObjectCreatedPayload.class, name = "OBJECT_CREATED"),
         @JsonSubTypes.Type(value = ObjectUpdatedPayload.class, name = "OBJECT_UPDATED"),
         @JsonSubTypes.Type(value = ObjectDeletedPayload.class, name = "OBJECT_DELETED"),
+        @JsonSubTypes.Type(value = ObjectsVersioningUpdatedPayload.class, name = "OBJECTS_VERSIONING_UPDATED"),
+        @JsonSubTypes.Type(value = ObjectsDeletedPayload.class, name = "OBJECTS_DELETED"),
         @JsonSubTypes.Type(value = BucketUpdatedPayload.class, name = "BUCKET_UPDATED"),
         @JsonSubTypes.Type(value = BucketDeletedPayload.class, name = "BUCKET_DELETED"),
 })public interface S3EventPayload {
@@ -21,4 +21,7 @@ public class ObjectCreatedPayload implements S3EventPayload {
     private List<String> tags;
     private String accessLevel;
     private Boolean versionEnabled;
+
+    // Payload version stored by object-service (null before versions were kept)
+    private String versionId;
 }
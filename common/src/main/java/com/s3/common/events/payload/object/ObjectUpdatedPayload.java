@@ -22,4 +22,9 @@ public class ObjectUpdatedPayload implements S3EventPayload {
     private List<String> tags;
     private String accessLevel;
     private boolean versionEnabled;
+
+    // Payload version current after the change (null before versions were kept)
+    private String versionId;
+    // True when an earlier payload version was made current again; the optional updates are not set
+    private boolean restored;
 }
\ No newline at end of file
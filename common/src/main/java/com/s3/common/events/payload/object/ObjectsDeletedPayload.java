@@ -0,0 +1,22 @@
+package com.s3.common.events.payload.object;
+
+import com.s3.common.events.payload.S3EventPayload;
+import lombok.*;
+import lombok.extern.jackson.Jacksonized;
+
+import java.util.List;
+
+/**
+ * One chunk of objects removed by a bucket deletion, published instead of
+ * one {@link ObjectDeletedPayload} per object.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Jacksonized
+public class ObjectsDeletedPayload implements S3EventPayload {
+
+    private String bucketName;
+    private List<String> objectIds;
+}
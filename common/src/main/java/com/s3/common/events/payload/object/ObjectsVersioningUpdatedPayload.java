@@ -0,0 +1,20 @@
+package com.s3.common.events.payload.object;
+
+import com.s3.common.events.payload.S3EventPayload;
+import lombok.*;
+import lombok.extern.jackson.Jacksonized;
+
+/**
+ * Versioning flag change for every object in a bucket, published once per
+ * bucket instead of one {@link ObjectUpdatedPayload} per object.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Jacksonized
+public class ObjectsVersioningUpdatedPayload implements S3EventPayload {
+
+    private String bucketName;
+    private boolean versioningEnabled;
+}
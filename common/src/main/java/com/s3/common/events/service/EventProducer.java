@@ -1,11 +1,16 @@
 package com.s3.common.events.service;
 import com.s3.common.events.config.S3EventProperties;
+import com.s3.common.events.outbox.EventOutbox;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Service;
 
+import java.util.concurrent.CompletableFuture;
+
 @Service
 @ConditionalOnProperty(
         prefix = "s3.events",
@@ -18,19 +23,42 @@ public class EventProducer {
 
     private final KafkaTemplate<String, Object> kafkaTemplate;
     private final S3EventProperties properties;
+    private final ObjectProvider<EventOutbox> outbox;
 
     public EventProducer(KafkaTemplate<String, Object> kafkaTemplate,
-                         S3EventProperties properties) {
+                         S3EventProperties properties,
+                         ObjectProvider<EventOutbox> outbox) {
         this.kafkaTemplate = kafkaTemplate;
         this.properties = properties;
+        this.outbox = outbox;
     }
 
+    /**
+     * Publishes an event. With {@code s3.events.outbox.enabled} the event is
+     * written to the outbox in the caller's transaction and relayed later;
+     * otherwise it is sent straight away.
+     */
     public void publish(String topicKey, String key, Object event) {
         String topic = properties.getTopics().get(topicKey);
 
+        EventOutbox eventOutbox = outbox.getIfAvailable();
+        if (eventOutbox != null) {
+            eventOutbox.append(topic, key, event);
+            return;
+        }
+
         log.info("Publishing event to topic [{}] from [{}]",
                 topic, properties.getServiceName());
 
-        kafkaTemplate.send(topic, key, event);
+        send(topic, key, event).whenComplete((result, ex) -> {
+            if (ex != null) {
+                log.error("Failed to publish event to topic [{}] with key [{}]", topic, key, ex);
+            }
+        });
+    }
+
+    /** Sends to a resolved topic name and returns the broker acknowledgement. */
+    public CompletableFuture<SendResult<String, Object>> send(String topic, String key, Object event) {
+        return kafkaTemplate.send(topic, key, event);
     }
-}
\ No newline at end of file
+}
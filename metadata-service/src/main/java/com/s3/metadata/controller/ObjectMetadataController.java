@@ -1,9 +1,11 @@
 package com.s3.metadata.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.s3.common.dto.request.CreateObjectMetadataDTO;
 import com.s3.common.dto.request.SearchObjectRequestDTO;
 import com.s3.common.dto.request.UpdateObjectMetadataDTO;
 import com.s3.common.dto.response.ObjectMetadataResponseDTO;
+import com.s3.common.dto.response.SearchObjectsResponseDTO;
 import com.s3.common.logging.LoggingUtil;
 import com.s3.common.response.ApiResponse;
 import com.s3.common.security.JwtUserPrincipal;
@@ -11,10 +13,15 @@ import com.s3.metadata.service.ObjectMetadataService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.slf4j.Logger;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
 
 
@@ -26,10 +33,14 @@ import java.util.List;
 public class ObjectMetadataController {
 
     private static final Logger log = LoggingUtil.getLogger(ObjectMetadataController.class);
+    private static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
     private final ObjectMetadataService service;
+    private final ObjectMapper objectMapper;
 
-    public ObjectMetadataController(ObjectMetadataService service) {
+    public ObjectMetadataController(ObjectMetadataService service, ObjectMapper objectMapper) {
         this.service = service;
+        this.objectMapper = objectMapper;
     }
 
     // ---------------- CREATE ----------------
@@ -82,14 +93,56 @@ public class ObjectMetadataController {
             description = """
             Search objects using metadata filters.
             All parameters are optional.
-            Tag search supports multiple values (OR semantics).
+            File name and description match substrings, fileNamePrefix matches the start of the name.
+            Tags match with tagMatch ANY (OR, default) or ALL (AND) semantics.
+            Results are ordered by sortBy (FILE_NAME, CREATED_AT, UPDATED_AT) and id.
+            Pages are addressed by number (page, size; includes totals) or by passing
+            the nextCursor of the previous response as cursor (no totals, constant cost per page).
+            """
+    )
+    public ResponseEntity<ApiResponse<SearchObjectsResponseDTO>> search(
+            @RequestBody SearchObjectRequestDTO request,
+            @AuthenticationPrincipal JwtUserPrincipal user
+    ) {
+        return ResponseEntity.ok(ApiResponse.success(service.search(user.getUserId(), request)));
+    }
+
+    @PostMapping(value = "/search/stream", produces = "application/x-ndjson")
+    @Operation(
+            summary = "Stream search results",
+            description = """
+            Same filters and ordering as /search, but returns every match as
+            newline-delimited JSON (one object per line) instead of a page.
+            page and size are ignored; cursor, if set, starts after that row.
             """
     )
-    public ResponseEntity<List<ObjectMetadataResponseDTO>> search(
+    public ResponseEntity<StreamingResponseBody> searchStream(
             @RequestBody SearchObjectRequestDTO request,
             @AuthenticationPrincipal JwtUserPrincipal user
     ) {
-        return ResponseEntity.ok(service.search(user.getUserId(), request));
+        String userId = user.getUserId();
+        log.info("User [{}] streaming search results", userId);
+        // Validated here, before the response is committed
+        ObjectMetadataService.SearchResults results = service.streamSearch(userId, request);
+        StreamingResponseBody body = out -> {
+            try {
+                results.forEach(item -> writeLine(out, item));
+            } catch (UncheckedIOException e) {
+                // Client went away mid-stream
+                throw e.getCause();
+            }
+            out.flush();
+        };
+        return ResponseEntity.ok().contentType(APPLICATION_NDJSON).body(body);
+    }
+
+    private void writeLine(OutputStream out, ObjectMetadataResponseDTO item) {
+        try {
+            out.write(objectMapper.writeValueAsBytes(item));
+            out.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
     }
 
 }
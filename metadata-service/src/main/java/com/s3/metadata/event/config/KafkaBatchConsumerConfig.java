@@ -0,0 +1,53 @@
+package com.s3.metadata.event.config;
+
+import com.s3.common.events.consumer.KeyOrderedExecutor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.listener.ConsumerAwareRebalanceListener;
+
+@Configuration
+public class KafkaBatchConsumerConfig {
+
+    /** Delivers each poll (up to {@code max.poll.records}) to the listener as one list. */
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, Object>
+    batchKafkaListenerContainerFactory(
+            ConsumerFactory<String, Object> consumerFactory,
+            KafkaProperties kafkaProperties,
+            ObjectProvider<ConsumerAwareRebalanceListener> rebalanceListener
+    ) {
+
+        ConcurrentKafkaListenerContainerFactory<String, Object> factory =
+                new ConcurrentKafkaListenerContainerFactory<>();
+
+        factory.setConsumerFactory(consumerFactory);
+        factory.setBatchListener(true);
+
+        Integer concurrency = kafkaProperties.getListener().getConcurrency();
+        if (concurrency != null) {
+            factory.setConcurrency(concurrency);
+        }
+        rebalanceListener.ifAvailable(
+                listener -> factory.getContainerProperties().setConsumerRebalanceListener(listener)
+        );
+        return factory;
+    }
+
+    /**
+     * Worker pool the batch listener fans a poll out to by event key
+     * ({@code s3.events.consumer.workers}, defaults to the number of cores).
+     */
+    @Bean(destroyMethod = "shutdown")
+    public KeyOrderedExecutor eventWorkerPool(
+            @Value("${s3.events.consumer.workers:0}") int workers
+    ) {
+        return new KeyOrderedExecutor(
+                workers > 0 ? workers : Runtime.getRuntime().availableProcessors()
+        );
+    }
+}
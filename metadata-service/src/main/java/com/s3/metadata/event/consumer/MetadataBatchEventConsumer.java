@@ -0,0 +1,129 @@
+package com.s3.metadata.event.consumer;
+
+import com.s3.common.events.consumer.KeyOrderedExecutor;
+import com.s3.common.events.enums.S3EventType;
+import com.s3.common.events.model.S3Event;
+import com.s3.common.events.payload.S3EventPayload;
+import com.s3.common.logging.LoggingUtil;
+import com.s3.metadata.event.handler.ObjectEventBatchHandler;
+import com.s3.metadata.event.handler.ObjectEventHandler;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.slf4j.Logger;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+/**
+ * Batch counterpart of {@link MetadataEventConsumer}, active unless
+ * {@code metadata.events.batch.enabled} is false.
+ * <p>
+ * A poll is split by record key (objectId) over the shared
+ * {@link KeyOrderedExecutor}; each lane is applied as its own batch, so
+ * different objects are written in parallel while events of one object keep
+ * their order. A lane that cannot be applied as a whole is replayed event by
+ * event, and the earliest failing record is reported to the container's
+ * error handler, which retries from there. Records already applied by other
+ * lanes are skipped on redelivery by the idempotency check.
+ * <p>
+ * Bucket-wide events (keyed by bucket name) are applied with set-based
+ * statements of their own, so their lanes always take the event-by-event path.
+ */
+@Component
+@ConditionalOnProperty(
+        name = "metadata.events.batch.enabled",
+        havingValue = "true",
+        matchIfMissing = true
+)
+public class MetadataBatchEventConsumer {
+
+    private static final Logger log =
+            LoggingUtil.getLogger(MetadataBatchEventConsumer.class);
+
+    private static final Set<S3EventType> BUCKET_WIDE_EVENTS = EnumSet.of(
+            S3EventType.OBJECTS_VERSIONING_UPDATED,
+            S3EventType.OBJECTS_DELETED
+    );
+
+    private final ObjectEventBatchHandler batchHandler;
+    private final ObjectEventHandler handler;
+    private final KeyOrderedExecutor workerPool;
+
+    public MetadataBatchEventConsumer(
+            ObjectEventBatchHandler batchHandler,
+            ObjectEventHandler handler,
+            KeyOrderedExecutor workerPool
+    ) {
+        this.batchHandler = batchHandler;
+        this.handler = handler;
+        this.workerPool = workerPool;
+    }
+
+    @KafkaListener(
+            topics = "s3.object.events",
+            groupId = "metadata-service",
+            containerFactory = "batchKafkaListenerContainerFactory"
+    )
+    public void consume(List<ConsumerRecord<String, S3Event<? extends S3EventPayload>>> records) {
+
+        log.debug("Consumed batch of {} events", records.size());
+
+        List<Integer> indexes = IntStream.range(0, records.size()).boxed().toList();
+        AtomicInteger firstFailure = new AtomicInteger(Integer.MAX_VALUE);
+        Map<Integer, RuntimeException> failures = new ConcurrentHashMap<>();
+
+        workerPool.executeByKey(
+                indexes,
+                index -> records.get(index).key(),
+                lane -> processLane(records, lane, firstFailure, failures)
+        );
+
+        int failed = firstFailure.get();
+        if (failed != Integer.MAX_VALUE) {
+            throw new BatchListenerFailedException(
+                    "Failed to process event at offset " + records.get(failed).offset(),
+                    failures.get(failed),
+                    failed
+            );
+        }
+    }
+
+    private void processLane(
+            List<ConsumerRecord<String, S3Event<? extends S3EventPayload>>> records,
+            List<Integer> lane,
+            AtomicInteger firstFailure,
+            Map<Integer, RuntimeException> failures
+    ) {
+        List<S3Event<?>> events = new ArrayList<>(lane.size());
+        lane.forEach(index -> events.add(records.get(index).value()));
+
+        if (events.stream().noneMatch(event -> BUCKET_WIDE_EVENTS.contains(event.getEventType()))) {
+            try {
+                batchHandler.handleBatch(events);
+                return;
+            } catch (RuntimeException e) {
+                log.warn("Batch of {} events failed, retrying one by one", events.size(), e);
+            }
+        }
+
+        for (int index : lane) {
+            try {
+                handler.handle(records.get(index).value());
+            } catch (RuntimeException e) {
+                failures.put(index, e);
+                firstFailure.accumulateAndGet(index, Math::min);
+                // Later events of this lane may depend on the failed one
+                return;
+            }
+        }
+    }
+}
@@ -6,10 +6,15 @@ import com.s3.common.logging.LoggingUtil;
 import com.s3.metadata.event.handler.ObjectEventHandler;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.slf4j.Logger;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Component;
 
 @Component
+@ConditionalOnProperty(
+        name = "metadata.events.batch.enabled",
+        havingValue = "false"
+)
 public class MetadataEventConsumer {
 
     private static final Logger log =
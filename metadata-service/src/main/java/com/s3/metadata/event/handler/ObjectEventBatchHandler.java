@@ -0,0 +1,304 @@
+package com.s3.metadata.event.handler;
+
+import com.s3.common.dto.request.CreateObjectMetadataDTO;
+import com.s3.common.dto.request.UpdateObjectMetadataDTO;
+import com.s3.common.events.model.S3Event;
+import com.s3.common.events.payload.object.ObjectCreatedPayload;
+import com.s3.common.events.payload.object.ObjectDeletedPayload;
+import com.s3.common.events.payload.object.ObjectUpdatedPayload;
+import com.s3.common.logging.LoggingUtil;
+import com.s3.metadata.event.idempotency.EventIdempotencyService;
+import com.s3.metadata.event.mapper.ObjectEventMapper;
+import com.s3.metadata.index.TagIndex;
+import com.s3.metadata.mapper.ObjectMetadataMapper;
+import com.s3.metadata.model.ObjectMetadataEntity;
+import com.s3.metadata.model.ObjectVersionEntity;
+import com.s3.metadata.repository.ObjectMetadataRepository;
+import com.s3.metadata.repository.ObjectVersionRepository;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+
+/**
+ * Applies a poll's worth of object events in one transaction.
+ * <p>
+ * State for every object in the batch is loaded up front (one idempotency
+ * lookup, one locking metadata query), events are applied in
+ * order in memory, and the result is written with a handful of set-based
+ * statements plus JDBC-batched inserts at commit. The outcome matches
+ * {@link ObjectEventHandler} applied event by event.
+ */
+@Component
+@RequiredArgsConstructor
+public class ObjectEventBatchHandler {
+
+    private static final Logger log =
+            LoggingUtil.getLogger(ObjectEventBatchHandler.class);
+
+    private final ObjectMetadataRepository metadataRepository;
+    private final ObjectVersionRepository versionRepository;
+    private final ObjectMetadataMapper metadataMapper;
+    private final ObjectEventMapper mapper;
+    private final EventIdempotencyService idempotencyService;
+    private final EntityManager entityManager;
+    private final ObjectProvider<TagIndex> tagIndex;
+
+    @Transactional
+    public void handleBatch(List<S3Event<?>> events) {
+
+        // 1. Drop redeliveries and duplicates in one lookup
+        Map<String, S3Event<?>> unique = new LinkedHashMap<>();
+        events.forEach(event -> unique.putIfAbsent(event.getEventId(), event));
+
+        Set<String> processed = idempotencyService.findProcessed(unique.keySet());
+        List<S3Event<?>> pending = unique.values()
+                .stream()
+                .filter(event -> !processed.contains(event.getEventId()))
+                .toList();
+
+        if (pending.size() < events.size()) {
+            log.warn("Skipping {} already processed events", events.size() - pending.size());
+        }
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        // 2. Load the current state of every object in the batch
+        BatchState state = loadState(pending);
+
+        // 3. Apply events in order
+        for (S3Event<?> event : pending) {
+            switch (event.getEventType()) {
+                case OBJECT_CREATED -> {
+                    ObjectCreatedPayload payload = (ObjectCreatedPayload) event.getPayload();
+                    state.create(mapper.toCreateDto(payload), event.getOwnerId(), payload.getVersionId());
+                }
+                case OBJECT_UPDATED -> {
+                    ObjectUpdatedPayload payload = (ObjectUpdatedPayload) event.getPayload();
+                    if (payload.isRestored()) {
+                        state.restore(payload.getObjectId(), payload.getBucketName(), payload.getVersionId());
+                    } else {
+                        state.update(payload.getObjectId(), mapper.toUpdateDto(payload), payload.getVersionId());
+                    }
+                }
+                case OBJECT_DELETED -> state.delete(
+                        ((ObjectDeletedPayload) event.getPayload()).getObjectId()
+                );
+                default -> log.debug("Ignoring event type {}", event.getEventType());
+            }
+        }
+
+        // 4. Write
+        state.flush();
+        idempotencyService.markProcessed(pending);
+
+        log.info("Applied batch of {} object events", pending.size());
+    }
+
+    private BatchState loadState(List<S3Event<?>> events) {
+        Set<String> objectIds = new HashSet<>();
+        for (S3Event<?> event : events) {
+            if (event.getPayload() instanceof ObjectCreatedPayload p) {
+                objectIds.add(p.getObjectId());
+            } else if (event.getPayload() instanceof ObjectUpdatedPayload p) {
+                objectIds.add(p.getObjectId());
+            } else if (event.getPayload() instanceof ObjectDeletedPayload p) {
+                objectIds.add(p.getObjectId());
+            }
+        }
+
+        BatchState state = new BatchState();
+        if (objectIds.isEmpty()) {
+            return state;
+        }
+
+        // Same row locks as the REST update path; version numbers come from latestVersion
+        metadataRepository.findAllByObjectIdInForUpdate(objectIds)
+                .forEach(entity -> state.metadata.put(entity.getObjectId(), entity));
+        return state;
+    }
+
+    /** In-memory view of the objects touched by one batch. */
+    private final class BatchState {
+
+        private final Map<String, ObjectMetadataEntity> metadata = new HashMap<>();
+
+        /** Metadata created in this batch, persisted on flush */
+        private final Set<String> created = new LinkedHashSet<>();
+        /** Versions created in this batch, persisted on flush */
+        private final Map<String, List<ObjectVersionEntity>> newVersions = new LinkedHashMap<>();
+        /** Existing objects whose stored active version is superseded */
+        private final Set<String> superseded = new HashSet<>();
+        /** Existing objects whose stored version (number) is re-activated by a restore */
+        private final Map<String, Integer> restoredVersions = new HashMap<>();
+        /** Existing objects whose stored versions get versioning disabled */
+        private final Set<String> versioningDisabled = new HashSet<>();
+        /** Existing objects to delete */
+        private final List<ObjectMetadataEntity> deleted = new ArrayList<>();
+
+        void create(CreateObjectMetadataDTO dto, String ownerId, String payloadVersionId) {
+            String objectId = dto.getObjectId();
+            if (metadata.containsKey(objectId)) {
+                log.warn("Metadata already exists for objectId={}, skipping create", objectId);
+                return;
+            }
+
+            ObjectMetadataEntity entity = metadataMapper.toEntity(dto);
+            entity.setOwnerId(ownerId);
+            entity.setAccessLevel(dto.getAccessLevel());
+            entity.setLatestVersion(0);   // addVersion below takes v1
+            entity.replaceTags(dto.getTags());
+
+            metadata.put(objectId, entity);
+            created.add(objectId);
+
+            // Even if versioning is disabled, we still create v1
+            addVersion(objectId, ownerId, dto.getBucketName(), dto.isVersioningEnabled(), payloadVersionId);
+        }
+
+        void update(String objectId, UpdateObjectMetadataDTO dto, String payloadVersionId) {
+            ObjectMetadataEntity entity = metadata.get(objectId);
+            if (entity == null) {
+                log.warn("Metadata not found for objectId={}, skipping update", objectId);
+                return;
+            }
+
+            metadataMapper.updateEntity(dto, entity);
+            if (dto.getTags() != null) {
+                entity.replaceTags(dto.getTags());
+            }
+
+            if (dto.isVersioningEnabled()) {
+                addVersion(objectId, entity.getOwnerId(), dto.getBucketName(), true, payloadVersionId);
+            } else {
+                newVersions.getOrDefault(objectId, List.of())
+                        .forEach(version -> version.setVersioningEnabled(false));
+                if (!created.contains(objectId)) {
+                    versioningDisabled.add(objectId);
+                }
+            }
+        }
+
+        /**
+         * Activates the latest version recorded with the restored payload
+         * version, from this batch or stored; a new version when none is.
+         */
+        void restore(String objectId, String bucketName, String payloadVersionId) {
+            ObjectMetadataEntity entity = metadata.get(objectId);
+            if (entity == null) {
+                log.warn("Metadata not found for objectId={}, skipping restore", objectId);
+                return;
+            }
+
+            List<ObjectVersionEntity> versions = newVersions.getOrDefault(objectId, List.of());
+            ObjectVersionEntity match = null;
+            for (ObjectVersionEntity version : versions) {
+                if (payloadVersionId != null && payloadVersionId.equals(version.getPayloadVersionId())) {
+                    match = version;
+                }
+            }
+            if (match == null && payloadVersionId != null && !created.contains(objectId)) {
+                match = versionRepository
+                        .findFirstByObjectIdAndPayloadVersionIdOrderByVersionNumberDesc(objectId, payloadVersionId)
+                        .orElse(null);
+                if (match != null) {
+                    superseded.add(objectId);
+                    restoredVersions.put(objectId, match.getVersionNumber());
+                }
+            }
+            if (match == null) {
+                addVersion(objectId, entity.getOwnerId(), bucketName, true, payloadVersionId);
+                return;
+            }
+
+            versions.forEach(version -> version.setActive(false));
+            if (versions.contains(match)) {
+                match.setActive(true);
+                restoredVersions.remove(objectId);
+            }
+            entity.setActiveVersion(match.getVersionNumber());
+        }
+
+        void delete(String objectId) {
+            ObjectMetadataEntity entity = metadata.remove(objectId);
+            if (entity == null) {
+                log.warn("Metadata not found for objectId={}, skipping delete", objectId);
+                return;
+            }
+
+            newVersions.remove(objectId);
+            restoredVersions.remove(objectId);
+            if (!created.remove(objectId)) {
+                superseded.remove(objectId);
+                versioningDisabled.remove(objectId);
+                deleted.add(entity);
+            }
+        }
+
+        private void addVersion(
+                String objectId,
+                String ownerId,
+                String bucketName,
+                boolean versioningEnabled,
+                String payloadVersionId
+        ) {
+            List<ObjectVersionEntity> versions =
+                    newVersions.computeIfAbsent(objectId, id -> new ArrayList<>());
+            versions.forEach(version -> version.setActive(false));
+            restoredVersions.remove(objectId);
+            if (!created.contains(objectId)) {
+                superseded.add(objectId);
+            }
+
+            ObjectMetadataEntity entity = metadata.get(objectId);
+            int versionNumber = entity.getLatestVersion() + 1;
+            entity.setLatestVersion(versionNumber);
+            entity.setActiveVersion(versionNumber);
+            versions.add(ObjectVersionEntity.builder()
+                    .id(UUID.randomUUID())
+                    .objectId(objectId)
+                    .ownerId(ownerId)
+                    .bucketName(bucketName)
+                    .versioningEnabled(versioningEnabled)
+                    .versionNumber(versionNumber)
+                    .isActive(true)
+                    .payloadVersionId(payloadVersionId)
+                    .build());
+        }
+
+        /**
+         * Set-based statements against stored rows run first, so that the
+         * old active versions are gone before new ones are inserted.
+         */
+        void flush() {
+            if (!superseded.isEmpty()) {
+                versionRepository.deactivateAll(superseded);
+            }
+            restoredVersions.forEach(versionRepository::activate);
+            if (!versioningDisabled.isEmpty()) {
+                versionRepository.updateVersioningEnabledIn(versioningDisabled, false);
+            }
+            if (!deleted.isEmpty()) {
+                versionRepository.deleteAllByObjectIdIn(
+                        deleted.stream().map(ObjectMetadataEntity::getObjectId).toList()
+                );
+                metadataRepository.deleteAll(deleted);
+            }
+
+            created.forEach(objectId -> entityManager.persist(metadata.get(objectId)));
+            newVersions.values().forEach(versions -> versions.forEach(entityManager::persist));
+
+            tagIndex.ifAvailable(index -> {
+                metadata.values().forEach(index::indexAfterCommit);
+                if (!deleted.isEmpty()) {
+                    index.removeAfterCommit(deleted.stream().map(ObjectMetadataEntity::getObjectId).toList());
+                }
+            });
+        }
+    }
+}
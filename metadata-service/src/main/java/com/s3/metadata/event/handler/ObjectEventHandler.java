@@ -4,10 +4,14 @@ import com.s3.common.events.model.S3Event;
 import com.s3.common.events.payload.object.ObjectCreatedPayload;
 import com.s3.common.events.payload.object.ObjectDeletedPayload;
 import com.s3.common.events.payload.object.ObjectUpdatedPayload;
+import com.s3.common.events.payload.object.ObjectsDeletedPayload;
+import com.s3.common.events.payload.object.ObjectsVersioningUpdatedPayload;
 import com.s3.common.logging.LoggingUtil;
 import com.s3.metadata.event.idempotency.EventIdempotencyService;
 import com.s3.metadata.event.mapper.ObjectEventMapper;
+import com.s3.metadata.service.BucketVersioningService;
 import com.s3.metadata.service.ObjectMetadataService;
+import com.s3.metadata.service.ObjectVersionService;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.springframework.stereotype.Component;
@@ -19,6 +23,8 @@ public class ObjectEventHandler {
             LoggingUtil.getLogger(ObjectEventHandler.class);
 
     private final ObjectMetadataService metadataService;
+    private final ObjectVersionService versionService;
+    private final BucketVersioningService bucketVersioningService;
     private final ObjectEventMapper mapper;
     private final EventIdempotencyService idempotencyService;
 
@@ -35,11 +41,13 @@ public class ObjectEventHandler {
         switch (event.getEventType()) {
 
             case OBJECT_CREATED -> {
+                ObjectCreatedPayload payload =
+                        (ObjectCreatedPayload) event.getPayload();
+
                 metadataService.create(
-                        mapper.toCreateDto(
-                                (ObjectCreatedPayload) event.getPayload()
-                        ),
-                        event.getOwnerId()
+                        mapper.toCreateDto(payload),
+                        event.getOwnerId(),
+                        payload.getVersionId()
                 );
             }
 
@@ -47,10 +55,19 @@ public class ObjectEventHandler {
                 ObjectUpdatedPayload payload =
                         (ObjectUpdatedPayload) event.getPayload();
 
-                metadataService.update(
-                        payload.getObjectId(),
-                        mapper.toUpdateDto(payload)
-                );
+                if (payload.isRestored()) {
+                    versionService.restorePayloadVersion(
+                            payload.getObjectId(),
+                            payload.getBucketName(),
+                            payload.getVersionId()
+                    );
+                } else {
+                    metadataService.update(
+                            payload.getObjectId(),
+                            mapper.toUpdateDto(payload),
+                            payload.getVersionId()
+                    );
+                }
             }
 
             case OBJECT_DELETED -> {
@@ -59,6 +76,14 @@ public class ObjectEventHandler {
 
                 metadataService.deleteByObjectId(payload.getObjectId());
             }
+
+            case OBJECTS_DELETED -> metadataService.deleteByObjectIds(
+                    ((ObjectsDeletedPayload) event.getPayload()).getObjectIds()
+            );
+
+            case OBJECTS_VERSIONING_UPDATED -> bucketVersioningService.apply(
+                    (S3Event<ObjectsVersioningUpdatedPayload>) event
+            );
             default -> log.debug(
                     "Ignoring event type {}",
                     event.getEventType()
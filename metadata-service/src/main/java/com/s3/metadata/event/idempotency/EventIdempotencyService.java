@@ -1,35 +1,71 @@
 package com.s3.metadata.event.idempotency;
 
-import com.s3.common.events.enums.S3EventSource;
-import lombok.RequiredArgsConstructor;
+import com.s3.common.events.idempotency.AbstractEventIdempotencyService;
+import com.s3.common.events.idempotency.ProcessedEventEntity;
+import com.s3.common.events.idempotency.ProcessedEventRepository;
+import com.s3.common.events.model.S3Event;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Processed-event bookkeeping for the object event consumers, with batch
+ * variants for the batch listener.
+ */
 @Service
-@RequiredArgsConstructor
-public class EventIdempotencyService {
+public class EventIdempotencyService extends AbstractEventIdempotencyService {
+
+    private final EntityManager entityManager;
 
-    private final ProcessedEventRepository repository;
+    public EventIdempotencyService(
+            ProcessedEventRepository repository,
+            EntityManager entityManager,
+            @Value("${s3.events.idempotency.recent-capacity:10000}") int recentCapacity,
+            @Value("${s3.events.idempotency.false-positive-rate:0.01}") double falsePositiveRate,
+            @Value("${s3.events.idempotency.retention-hours:168}") long retentionHours
+    ) {
+        super(repository, recentCapacity, falsePositiveRate, retentionHours);
+        this.entityManager = entityManager;
+    }
 
+    /** Ids among {@code eventIds} that were already processed, in one lookup. */
     @Transactional(readOnly = true)
-    public boolean isAlreadyProcessed(String eventId) {
-        return repository.existsById(eventId);
+    public Set<String> findProcessed(Collection<String> eventIds) {
+        Set<String> processed = eventIds.stream()
+                .filter(filter::isKnownProcessed)
+                .collect(Collectors.toSet());
+        List<String> candidates = eventIds.stream()
+                .filter(id -> !processed.contains(id) && filter.mightBeProcessed(id))
+                .toList();
+        if (!candidates.isEmpty()) {
+            repository.findAllById(candidates)
+                    .forEach(entity -> processed.add(entity.getEventId()));
+        }
+        return processed;
     }
 
+    /**
+     * Marks a batch of new events as processed. Uses persist rather than
+     * save so the assigned ids do not trigger a lookup per row.
+     */
     @Transactional
-    public void markProcessed(
-            String eventId,
-            String eventType,
-            S3EventSource sourceService
-    ) {
-        repository.save(
-                new ProcessedEventEntity(
-                        eventId,
-                        eventType.toString(),
-                        sourceService.toString(),
-                        null
-                )
-        );
+    public void markProcessed(Collection<? extends S3Event<?>> events) {
+        for (S3Event<?> event : events) {
+            entityManager.persist(
+                    new ProcessedEventEntity(
+                            event.getEventId(),
+                            event.getEventType().toString(),
+                            event.getSourceService().toString(),
+                            null
+                    )
+            );
+        }
+        recordAfterCommit(events.stream().map(S3Event::getEventId).toList());
     }
 }
-
@@ -1,9 +0,0 @@
-package com.s3.metadata.event.idempotency;
-
-import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.stereotype.Repository;
-
-@Repository
-public interface ProcessedEventRepository
-        extends JpaRepository<ProcessedEventEntity, String> {
-}
\ No newline at end of file
@@ -0,0 +1,325 @@
+package com.s3.metadata.index;
+
+import com.s3.common.logging.LoggingUtil;
+import com.s3.metadata.model.ObjectMetadataEntity;
+import com.s3.metadata.model.ObjectTagEntity;
+import com.s3.metadata.repository.ObjectMetadataRepository;
+import com.s3.metadata.repository.ObjectTagRepository;
+import org.roaringbitmap.PeekableIntIterator;
+import org.roaringbitmap.RoaringBitmap;
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * In-memory inverted index of object tags, enabled with
+ * {@code metadata.tag-index.enabled}.
+ * <p>
+ * Every object id gets a dense int ordinal; each tag and each owner maps to
+ * a Roaring bitmap of ordinals, so AND/OR/NOT tag queries are bitmap
+ * operations instead of joins on {@code object_tags}. The index is built
+ * from the tables at startup and kept current by the metadata write paths,
+ * which apply their changes after commit. Changes made while a rebuild is
+ * running are re-read once it finishes. Until then {@link #isReady()} is
+ * false and callers query the database.
+ * <p>
+ * Memory grows with the number of objects; ordinals of deleted objects are
+ * not reused until the next rebuild.
+ * <p>
+ * The index only sees the writes of this instance, so it is correct only
+ * when metadata-service runs as a single instance with one listener thread
+ * consuming every partition. Startup fails when
+ * {@code spring.kafka.listener.concurrency} is above 1.
+ */
+@Component
+@ConditionalOnProperty(name = "metadata.tag-index.enabled", havingValue = "true")
+public class TagIndex {
+
+    private static final Logger log = LoggingUtil.getLogger(TagIndex.class);
+
+    private static final RoaringBitmap EMPTY = new RoaringBitmap();
+
+    private final ObjectMetadataRepository metadataRepository;
+    private final ObjectTagRepository tagRepository;
+    private final TransactionTemplate readOnly;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private State state = new State();
+    private volatile boolean ready;
+
+    /** Objects changed while a rebuild is running; null when none is */
+    private Set<String> changedDuringRebuild;
+
+    public TagIndex(
+            ObjectMetadataRepository metadataRepository,
+            ObjectTagRepository tagRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${spring.kafka.listener.concurrency:1}") int listenerConcurrency
+    ) {
+        if (listenerConcurrency > 1) {
+            throw new IllegalStateException(
+                    "metadata.tag-index.enabled requires a single instance with "
+                            + "spring.kafka.listener.concurrency=1, found " + listenerConcurrency
+            );
+        }
+        this.metadataRepository = metadataRepository;
+        this.tagRepository = tagRepository;
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    // ----------------------------------------------------------------------
+    // QUERY
+    // ----------------------------------------------------------------------
+
+    /** Matching object ids (one page of them, in index order) and the total number of matches. */
+    public record Result(int total, List<String> objectIds) {
+    }
+
+    /**
+     * Objects of {@code ownerId} carrying every tag in {@code all}, at least
+     * one tag in {@code any} (ignored when empty) and none in {@code none}.
+     * Returns up to {@code limit} ids after skipping {@code offset}.
+     */
+    public Result query(
+            String ownerId,
+            Collection<String> all,
+            Collection<String> any,
+            Collection<String> none,
+            int offset,
+            int limit
+    ) {
+        lock.readLock().lock();
+        try {
+            RoaringBitmap result = copyOf(state.byOwner.get(ownerId));
+            for (String tag : all) {
+                result.and(state.byTag.getOrDefault(tag, EMPTY));
+            }
+            if (!any.isEmpty()) {
+                result.and(union(any));
+            }
+            if (!none.isEmpty()) {
+                result.andNot(union(none));
+            }
+
+            List<String> ids = new ArrayList<>(Math.min(limit, result.getCardinality()));
+            PeekableIntIterator it = result.getIntIterator();
+            if (offset > 0 && offset < result.getCardinality()) {
+                it.advanceIfNeeded(result.select(offset));
+            } else if (offset > 0) {
+                return new Result(result.getCardinality(), List.of());
+            }
+            while (it.hasNext() && ids.size() < limit) {
+                ids.add(state.objectIds.get(it.next()));
+            }
+            return new Result(result.getCardinality(), ids);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ----------------------------------------------------------------------
+    // MAINTENANCE
+    // ----------------------------------------------------------------------
+
+    /** Indexes the entity's tags as they stand when the surrounding transaction commits. */
+    public void indexAfterCommit(ObjectMetadataEntity entity) {
+        afterCommit(() -> put(entity.getObjectId(), entity.getOwnerId(), tagsOf(entity)));
+    }
+
+    /** Drops the objects once the surrounding transaction commits. */
+    public void removeAfterCommit(Collection<String> objectIds) {
+        List<String> ids = List.copyOf(objectIds);
+        afterCommit(() -> ids.forEach(this::remove));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            changedDuringRebuild = new HashSet<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        long started = System.nanoTime();
+        State rebuilt = readOnly.execute(status -> load());
+
+        Set<String> changed;
+        lock.writeLock().lock();
+        try {
+            state = rebuilt;
+            changed = changedDuringRebuild;
+            changedDuringRebuild = null;
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        // Re-read objects whose changes the snapshot may have missed
+        if (!changed.isEmpty()) {
+            readOnly.executeWithoutResult(status -> {
+                Set<String> found = new HashSet<>();
+                for (ObjectMetadataEntity entity : metadataRepository.findAllByObjectIdIn(changed)) {
+                    found.add(entity.getObjectId());
+                    put(entity.getObjectId(), entity.getOwnerId(), tagsOf(entity));
+                }
+                changed.stream().filter(id -> !found.contains(id)).forEach(this::remove);
+            });
+        }
+
+        log.info(
+                "Tag index built: {} objects, {} tags in {} ms",
+                rebuilt.ordinals.size(), rebuilt.byTag.size(), (System.nanoTime() - started) / 1_000_000
+        );
+    }
+
+    private State load() {
+        State loaded = new State();
+        Map<String, List<String>> tagsByObject = new HashMap<>();
+        try (Stream<Object[]> tags = tagRepository.streamObjectTags()) {
+            tags.forEach(row -> tagsByObject
+                    .computeIfAbsent((String) row[0], id -> new ArrayList<>(2))
+                    .add((String) row[1]));
+        }
+        try (Stream<Object[]> owners = metadataRepository.streamObjectOwners()) {
+            owners.forEach(row -> {
+                String objectId = (String) row[0];
+                loaded.put(objectId, (String) row[1], tagsByObject.getOrDefault(objectId, List.of()));
+            });
+        }
+        loaded.runOptimize();
+        return loaded;
+    }
+
+    private void put(String objectId, String ownerId, List<String> tags) {
+        lock.writeLock().lock();
+        try {
+            if (changedDuringRebuild != null) {
+                changedDuringRebuild.add(objectId);
+            }
+            state.put(objectId, ownerId, tags);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void remove(String objectId) {
+        lock.writeLock().lock();
+        try {
+            if (changedDuringRebuild != null) {
+                changedDuringRebuild.add(objectId);
+            }
+            state.remove(objectId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static List<String> tagsOf(ObjectMetadataEntity entity) {
+        return entity.getTags().stream().map(ObjectTagEntity::getTag).toList();
+    }
+
+    private RoaringBitmap union(Collection<String> tags) {
+        RoaringBitmap union = new RoaringBitmap();
+        tags.forEach(tag -> union.or(state.byTag.getOrDefault(tag, EMPTY)));
+        return union;
+    }
+
+    private static RoaringBitmap copyOf(RoaringBitmap bitmap) {
+        return bitmap == null ? new RoaringBitmap() : bitmap.clone();
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    /** Index contents; guarded by {@link #lock}. */
+    static final class State {
+
+        private final Map<String, Integer> ordinals = new HashMap<>();
+        // Per ordinal: object id, owner and tags (null once removed)
+        private final List<String> objectIds = new ArrayList<>();
+        private final List<String> owners = new ArrayList<>();
+        private final List<List<String>> tags = new ArrayList<>();
+
+        private final Map<String, RoaringBitmap> byOwner = new HashMap<>();
+        private final Map<String, RoaringBitmap> byTag = new HashMap<>();
+
+        /** Assigns (or reuses) the object's ordinal and sets owner and tags. */
+        void put(String objectId, String ownerId, List<String> objectTags) {
+            Integer ordinal = ordinals.get(objectId);
+            if (ordinal == null) {
+                ordinal = objectIds.size();
+                objectIds.add(objectId);
+                owners.add(null);
+                tags.add(List.of());
+                ordinals.put(objectId, ordinal);
+            } else {
+                clear(ordinal);
+            }
+            int o = ordinal;
+            owners.set(o, ownerId);
+            tags.set(o, objectTags);
+            byOwner.computeIfAbsent(ownerId, k -> new RoaringBitmap()).add(o);
+            objectTags.forEach(tag -> byTag.computeIfAbsent(tag, k -> new RoaringBitmap()).add(o));
+        }
+
+        void remove(String objectId) {
+            Integer ordinal = ordinals.remove(objectId);
+            if (ordinal != null) {
+                clear(ordinal);
+                objectIds.set(ordinal, null);
+                owners.set(ordinal, null);
+                tags.set(ordinal, List.of());
+            }
+        }
+
+        /** Removes the ordinal from its owner and tag bitmaps. */
+        private void clear(int ordinal) {
+            RoaringBitmap owned = byOwner.get(owners.get(ordinal));
+            if (owned != null) {
+                owned.remove(ordinal);
+            }
+            for (String tag : tags.get(ordinal)) {
+                RoaringBitmap tagged = byTag.get(tag);
+                if (tagged != null) {
+                    tagged.remove(ordinal);
+                    if (tagged.isEmpty()) {
+                        byTag.remove(tag);
+                    }
+                }
+            }
+        }
+
+        void runOptimize() {
+            byOwner.values().forEach(RoaringBitmap::runOptimize);
+            byTag.values().forEach(RoaringBitmap::runOptimize);
+        }
+    }
+}
@@ -22,6 +22,7 @@ public interface ObjectMetadataMapper {
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "tags", ignore = true)              //  Handle tags manually
     @Mapping(target = "activeVersion", ignore = true)
+    @Mapping(target = "latestVersion", ignore = true)
     @Mapping(target = "createdAt", ignore = true)         //  @CreationTimestamp
     @Mapping(target = "updatedAt", ignore = true) //@UpdateTimestamp
     ObjectMetadataEntity toEntity(CreateObjectMetadataDTO dto);
@@ -36,6 +37,8 @@ public interface ObjectMetadataMapper {
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)         // @UpdateTimestamp
     @Mapping(target = "tags", ignore = true) //  Handle tags manually
+    @Mapping(target = "activeVersion", ignore = true)
+    @Mapping(target = "latestVersion", ignore = true)
     void updateEntity(UpdateObjectMetadataDTO dto, @MappingTarget ObjectMetadataEntity entity);
 
     /* ===================== RESPONSE ===================== */
@@ -0,0 +1,59 @@
+package com.s3.metadata.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.Instant;
+
+/**
+ * Progress of one bucket-wide versioning change. Counters are advanced in
+ * the same transaction as each chunk, so a redelivered event resumes with
+ * accurate totals.
+ */
+@Entity
+@Table(name = "bucket_versioning_jobs")
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class BucketVersioningJobEntity {
+
+    public enum Status {
+        RUNNING,
+        COMPLETED
+    }
+
+    @Id
+    @Column(name = "event_id", nullable = false, updatable = false)
+    private String eventId;
+
+    @Column(name = "bucket_name", nullable = false)
+    private String bucketName;
+
+    @Column(name = "versioning_enabled", nullable = false)
+    private boolean versioningEnabled;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Status status;
+
+    @Column(name = "metadata_updated", nullable = false)
+    private long metadataUpdated;
+
+    @Column(name = "versions_updated", nullable = false)
+    private long versionsUpdated;
+
+    @CreationTimestamp
+    @Column(name = "started_at", nullable = false, updatable = false)
+    private Instant startedAt;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+
+    @Column(name = "completed_at")
+    private Instant completedAt;
+}
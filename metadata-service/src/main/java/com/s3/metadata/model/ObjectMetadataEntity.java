@@ -5,13 +5,12 @@ import java.time.Instant;
 import com.s3.common.enums.AccessLevel;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.Instant;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.UUID;
+import java.util.*;
 
 @Entity
 @Table(name = "object_metadata")
@@ -50,6 +49,8 @@ public class ObjectMetadataEntity {
             orphanRemoval = true,
             fetch = FetchType.LAZY
     )
+    // Tags of a result page load in one IN query instead of one per object
+    @BatchSize(size = 100)
     @Builder.Default
     private List<ObjectTagEntity> tags = new ArrayList<>();
 
@@ -59,6 +60,15 @@ public class ObjectMetadataEntity {
     @Column(name = "active_version")
     private Integer activeVersion;
 
+    /**
+     * Highest version number handed out for this object; the next version
+     * is {@code latestVersion + 1}. Only advanced while holding the row lock
+     * ({@code findByObjectIdForUpdate}), so concurrent updates cannot pick
+     * the same number. Differs from {@code activeVersion} after a rollback.
+     */
+    @Column(name = "latest_version", nullable = false)
+    private int latestVersion;
+
     @Column(name = "file_name", nullable = false)
     private String fileName;
 
@@ -85,4 +95,34 @@ public class ObjectMetadataEntity {
         // Create a copy to avoid ConcurrentModificationException
         new ArrayList<>(tags).forEach(this::removeTag);
     }
+
+    /**
+     * Sets the tags to {@code values} by difference: tags no longer wanted
+     * are removed (orphan removal deletes them), missing ones are added and
+     * unchanged tags are left alone, so they cause no writes. Null and
+     * duplicate values are ignored. Returns whether anything changed.
+     */
+    public boolean replaceTags(Collection<String> values) {
+        Set<String> wanted = new LinkedHashSet<>();
+        if (values != null) {
+            values.stream().filter(Objects::nonNull).forEach(wanted::add);
+        }
+
+        boolean changed = false;
+        Set<String> kept = new HashSet<>();
+        for (ObjectTagEntity tag : new ArrayList<>(tags)) {
+            if (wanted.contains(tag.getTag()) && kept.add(tag.getTag())) {
+                continue;
+            }
+            removeTag(tag);
+            changed = true;
+        }
+        for (String value : wanted) {
+            if (!kept.contains(value)) {
+                addTag(ObjectTagEntity.builder().tag(value).build());
+                changed = true;
+            }
+        }
+        return changed;
+    }
 }
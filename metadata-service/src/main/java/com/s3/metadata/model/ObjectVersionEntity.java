@@ -38,6 +38,10 @@ public class ObjectVersionEntity {
     @Column(name = "versioning_enabled", nullable = false)
     private boolean versioningEnabled;
 
+    /** object-service version of the payload; null when not known */
+    @Column(name = "payload_version_id")
+    private String payloadVersionId;
+
 
     @CreationTimestamp
     @Column(name = "created_at", updatable = false, nullable = false, columnDefinition = "TIMESTAMP DEFAULT CURRENT_TIMESTAMP")
@@ -0,0 +1,8 @@
+package com.s3.metadata.repository;
+
+import com.s3.metadata.model.BucketVersioningJobEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface BucketVersioningJobRepository
+        extends JpaRepository<BucketVersioningJobEntity, String> {
+}
@@ -1,40 +1,71 @@
 package com.s3.metadata.repository;
 
-import com.s3.common.dto.response.ObjectMetadataResponseDTO;
 import com.s3.metadata.model.ObjectMetadataEntity;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 public interface ObjectMetadataRepository
-        extends JpaRepository<ObjectMetadataEntity, UUID> {
+        extends JpaRepository<ObjectMetadataEntity, UUID>,
+        JpaSpecificationExecutor<ObjectMetadataEntity> {
 
     Optional<ObjectMetadataEntity> findByObjectId(String objectId);
 
+    @EntityGraph(attributePaths = "tags")
+    List<ObjectMetadataEntity> findAllByObjectIdIn(Collection<String> objectIds);
+
+    /* ---------- row locks serializing version changes of an object ---------- */
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT m FROM ObjectMetadataEntity m WHERE m.objectId = :objectId")
+    Optional<ObjectMetadataEntity> findByObjectIdForUpdate(@Param("objectId") String objectId);
+
+    /** Locks in object id order so concurrent batches cannot deadlock. */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT m FROM ObjectMetadataEntity m WHERE m.objectId IN :objectIds ORDER BY m.objectId")
+    List<ObjectMetadataEntity> findAllByObjectIdInForUpdate(@Param("objectIds") Collection<String> objectIds);
+
     @Query("SELECT DISTINCT m FROM ObjectMetadataEntity m JOIN m.tags t WHERE t.tag = :tag")
     List<ObjectMetadataEntity> findByTag(String tag);
 
+    @Query("SELECT m.objectId, m.ownerId FROM ObjectMetadataEntity m")
+    Stream<Object[]> streamObjectOwners();
+
+    @Modifying
+    @Query("DELETE FROM ObjectMetadataEntity m WHERE m.objectId IN :objectIds")
+    int deleteAllByObjectIdIn(@Param("objectIds") Collection<String> objectIds);
+
+    /* ---------- bulk versioning changes ---------- */
 
-    @Query("""
-        SELECT DISTINCT m
-        FROM ObjectMetadataEntity m
-        LEFT JOIN m.tags t
-        WHERE m.ownerId = :ownerId
-        AND (:fileName = '' OR m.bucketName = :bucketName)
-        AND (:fileName = '' OR LOWER(m.fileName) LIKE CONCAT('%', :fileName, '%'))
-        AND (:description = '' OR LOWER(m.description) LIKE CONCAT('%', :description, '%'))
-        AND (:hasTags = false OR t.tag IN :tags)
-        """)
-    List<ObjectMetadataEntity> search(
-            @Param("ownerId") String ownerId,
+    /**
+     * Flips the flag on up to {@code limit} objects of the bucket that still
+     * differ. The equality on the old value is an index condition on
+     * (bucket_name, versioning_enabled), so chunks never rescan flipped rows.
+     */
+    @Modifying
+    @Query(value = """
+        UPDATE object_metadata
+        SET versioning_enabled = :enabled, updated_at = CURRENT_TIMESTAMP
+        WHERE id IN (
+            SELECT id FROM object_metadata
+            WHERE bucket_name = :bucketName AND versioning_enabled = NOT :enabled
+            LIMIT :limit
+        )
+        """, nativeQuery = true)
+    int updateVersioningEnabledChunk(
             @Param("bucketName") String bucketName,
-            @Param("fileName") String fileName,
-            @Param("description") String description,
-            @Param("tags") List<String> tags,
-            @Param("hasTags") boolean hasTags
+            @Param("enabled") boolean enabled,
+            @Param("limit") int limit
     );
 }
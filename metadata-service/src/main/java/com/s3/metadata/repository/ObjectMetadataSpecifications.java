@@ -0,0 +1,118 @@
+package com.s3.metadata.repository;
+
+import com.s3.metadata.model.ObjectMetadataEntity;
+import com.s3.metadata.model.ObjectTagEntity;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Collection;
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * Search predicates for {@link ObjectMetadataEntity}.
+ * <p>
+ * Only the filters that are actually set are added to the query, so the
+ * planner sees plain predicates it can match to the trigram and prefix
+ * indexes (V5 migration) instead of {@code (:x = '' OR ...)} guards.
+ * Text filters compare {@code lower(column)} to line up with the
+ * expression indexes.
+ */
+public final class ObjectMetadataSpecifications {
+
+    private static final char LIKE_ESCAPE = '\\';
+
+    private ObjectMetadataSpecifications() {
+    }
+
+    public static Specification<ObjectMetadataEntity> ownedBy(String ownerId) {
+        return (root, query, cb) -> cb.equal(root.get("ownerId"), ownerId);
+    }
+
+    public static Specification<ObjectMetadataEntity> inBucket(String bucketName) {
+        return (root, query, cb) -> cb.equal(root.get("bucketName"), bucketName);
+    }
+
+    public static Specification<ObjectMetadataEntity> fileNameContains(String fragment) {
+        return (root, query, cb) -> cb.like(
+                cb.lower(root.get("fileName")), "%" + escapeLike(fragment) + "%", LIKE_ESCAPE);
+    }
+
+    public static Specification<ObjectMetadataEntity> fileNameStartsWith(String prefix) {
+        return (root, query, cb) -> cb.like(
+                cb.lower(root.get("fileName")), escapeLike(prefix) + "%", LIKE_ESCAPE);
+    }
+
+    public static Specification<ObjectMetadataEntity> descriptionContains(String fragment) {
+        return (root, query, cb) -> cb.like(
+                cb.lower(root.get("description")), "%" + escapeLike(fragment) + "%", LIKE_ESCAPE);
+    }
+
+    /**
+     * Objects carrying at least {@code required} of {@code tags}: 1 gives OR
+     * semantics, {@code tags.size()} gives AND. Uses a grouped subquery on
+     * the tag index rather than a join, so no DISTINCT is needed.
+     */
+    public static Specification<ObjectMetadataEntity> hasTags(Collection<String> tags, long required) {
+        return (root, query, cb) -> {
+            Subquery<UUID> tagged = query.subquery(UUID.class);
+            Root<ObjectTagEntity> tag = tagged.from(ObjectTagEntity.class);
+            tagged.select(tag.get("metadata").get("id"))
+                    .where(tag.get("tag").in(tags))
+                    .groupBy(tag.get("metadata").get("id"))
+                    .having(cb.greaterThanOrEqualTo(cb.count(tag), required));
+            return root.get("id").in(tagged);
+        };
+    }
+
+    /** Objects carrying none of {@code tags}. */
+    public static Specification<ObjectMetadataEntity> lacksTags(Collection<String> tags) {
+        return (root, query, cb) -> {
+            Subquery<UUID> tagged = query.subquery(UUID.class);
+            Root<ObjectTagEntity> tag = tagged.from(ObjectTagEntity.class);
+            tagged.select(tag.get("metadata").get("id"))
+                    .where(tag.get("tag").in(tags));
+            return cb.not(root.get("id").in(tagged));
+        };
+    }
+
+    /** Objects whose ids were resolved elsewhere (e.g. by the tag index). */
+    public static Specification<ObjectMetadataEntity> objectIdIn(Collection<String> objectIds) {
+        return (root, query, cb) -> objectIds.isEmpty()
+                ? cb.disjunction()
+                : root.get("objectId").in(objectIds);
+    }
+
+    /**
+     * Rows after {@code (value, id)} in {@code attribute, id} order, i.e. the
+     * keyset continuation of a page that ended on that row. Matches the
+     * {@code (owner_id, <column>, id)} indexes (V5/V6 migrations).
+     */
+    public static <T extends Comparable<? super T>> Specification<ObjectMetadataEntity> after(
+            String attribute,
+            T value,
+            UUID id,
+            boolean descending
+    ) {
+        return (root, query, cb) -> {
+            Path<T> key = root.get(attribute);
+            Path<UUID> tieBreaker = root.get("id");
+            Predicate beyond = descending ? cb.lessThan(key, value) : cb.greaterThan(key, value);
+            Predicate tie = cb.and(
+                    cb.equal(key, value),
+                    descending ? cb.lessThan(tieBreaker, id) : cb.greaterThan(tieBreaker, id)
+            );
+            return cb.or(beyond, tie);
+        };
+    }
+
+    private static String escapeLike(String value) {
+        return value.toLowerCase(Locale.ROOT)
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+    }
+}
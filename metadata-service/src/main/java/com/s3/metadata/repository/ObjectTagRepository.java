@@ -2,9 +2,26 @@ package com.s3.metadata.repository;
 
 import com.s3.metadata.model.ObjectTagEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 public interface ObjectTagRepository
         extends JpaRepository<ObjectTagEntity, UUID> {
+
+    @Query("SELECT m.objectId, t.tag FROM ObjectTagEntity t JOIN t.metadata m")
+    Stream<Object[]> streamObjectTags();
+
+    @Modifying
+    @Query("""
+        DELETE FROM ObjectTagEntity t
+        WHERE t.metadata.id IN (
+            SELECT m.id FROM ObjectMetadataEntity m WHERE m.objectId IN :objectIds
+        )
+        """)
+    int deleteAllByObjectIdIn(@Param("objectIds") Collection<String> objectIds);
 }
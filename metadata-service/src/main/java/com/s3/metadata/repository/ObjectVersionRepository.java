@@ -7,6 +7,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -20,8 +21,21 @@ public interface ObjectVersionRepository
     Optional<ObjectVersionEntity> findTopByObjectIdOrderByVersionNumberDesc(String objectId);
     List<ObjectVersionEntity> findByObjectIdOrderByVersionNumberDesc(String objectId);
     Optional<ObjectVersionEntity> findByObjectIdAndVersionNumber(String objectId, int versionNumber);
+    boolean existsByObjectIdAndVersionNumber(String objectId, int versionNumber);
+    Optional<ObjectVersionEntity> findFirstByObjectIdAndPayloadVersionIdOrderByVersionNumberDesc(
+            String objectId, String payloadVersionId);
     void deleteByObjectId(String objectId);
 
+    /* ---------- active version switch; callers hold the metadata row lock ---------- */
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE ObjectVersionEntity v SET v.isActive = false WHERE v.objectId = :objectId AND v.isActive = true")
+    int deactivate(@Param("objectId") String objectId);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE ObjectVersionEntity v SET v.isActive = true WHERE v.objectId = :objectId AND v.versionNumber = :versionNumber")
+    int activate(@Param("objectId") String objectId, @Param("versionNumber") int versionNumber);
+
 //    @Modifying
 //    @Query("UPDATE ObjectVersionEntity v SET v.versioningEnabled = :enabled WHERE v.object.id = :objectId")
 //    int updateVersioningEnabled(@Param("objectId") String objectId, @Param("enabled") boolean enabled
@@ -31,4 +45,35 @@ public interface ObjectVersionRepository
     @Transactional
     @Query("UPDATE ObjectVersionEntity v SET v.versioningEnabled = :enabled WHERE v.objectId = :objectId")
     int updateVersioningEnabled(@Param("objectId") String objectId, @Param("enabled") boolean enabled);
+
+    /* ---------- bulk operations for batched event processing ---------- */
+
+    @Modifying
+    @Query("UPDATE ObjectVersionEntity v SET v.isActive = false WHERE v.objectId IN :objectIds AND v.isActive = true")
+    int deactivateAll(@Param("objectIds") Collection<String> objectIds);
+
+    @Modifying
+    @Query("UPDATE ObjectVersionEntity v SET v.versioningEnabled = :enabled WHERE v.objectId IN :objectIds")
+    int updateVersioningEnabledIn(@Param("objectIds") Collection<String> objectIds, @Param("enabled") boolean enabled);
+
+    @Modifying
+    @Query("DELETE FROM ObjectVersionEntity v WHERE v.objectId IN :objectIds")
+    int deleteAllByObjectIdIn(@Param("objectIds") Collection<String> objectIds);
+
+    /** Flips the flag on up to {@code limit} versions of the bucket that still differ. */
+    @Modifying
+    @Query(value = """
+        UPDATE object_versions
+        SET versioning_enabled = :enabled
+        WHERE id IN (
+            SELECT id FROM object_versions
+            WHERE bucket_name = :bucketName AND versioning_enabled = NOT :enabled
+            LIMIT :limit
+        )
+        """, nativeQuery = true)
+    int updateVersioningEnabledChunk(
+            @Param("bucketName") String bucketName,
+            @Param("enabled") boolean enabled,
+            @Param("limit") int limit
+    );
 }
@@ -0,0 +1,122 @@
+package com.s3.metadata.service;
+
+import com.s3.common.events.model.S3Event;
+import com.s3.common.events.payload.object.ObjectsVersioningUpdatedPayload;
+import com.s3.common.logging.LoggingUtil;
+import com.s3.metadata.model.BucketVersioningJobEntity;
+import com.s3.metadata.repository.BucketVersioningJobRepository;
+import com.s3.metadata.repository.ObjectMetadataRepository;
+import com.s3.metadata.repository.ObjectVersionRepository;
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.function.IntSupplier;
+import java.util.function.LongConsumer;
+
+/**
+ * Applies a bucket-wide versioning change with chunked set-based updates.
+ * <p>
+ * Each chunk updates at most {@code metadata.events.bulk.chunk-size} rows
+ * that still carry the old flag and records progress on the job row in its
+ * own transaction, so large buckets never hold one long transaction and a
+ * redelivered event simply continues where the previous attempt stopped.
+ * Unlike the per-object update path, no new version is created per object:
+ * only the flag changes.
+ */
+@Service
+public class BucketVersioningService {
+
+    private static final Logger log = LoggingUtil.getLogger(BucketVersioningService.class);
+
+    private final ObjectMetadataRepository metadataRepository;
+    private final ObjectVersionRepository versionRepository;
+    private final BucketVersioningJobRepository jobRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    public BucketVersioningService(
+            ObjectMetadataRepository metadataRepository,
+            ObjectVersionRepository versionRepository,
+            BucketVersioningJobRepository jobRepository,
+            TransactionTemplate transactionTemplate,
+            @Value("${metadata.events.bulk.chunk-size:1000}") int chunkSize
+    ) {
+        this.metadataRepository = metadataRepository;
+        this.versionRepository = versionRepository;
+        this.jobRepository = jobRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.chunkSize = chunkSize;
+    }
+
+    public void apply(S3Event<ObjectsVersioningUpdatedPayload> event) {
+        ObjectsVersioningUpdatedPayload payload = event.getPayload();
+        String bucketName = payload.getBucketName();
+        boolean enabled = payload.isVersioningEnabled();
+
+        BucketVersioningJobEntity job = transactionTemplate.execute(status ->
+                jobRepository.findById(event.getEventId())
+                        .orElseGet(() -> jobRepository.save(
+                                BucketVersioningJobEntity.builder()
+                                        .eventId(event.getEventId())
+                                        .bucketName(bucketName)
+                                        .versioningEnabled(enabled)
+                                        .status(BucketVersioningJobEntity.Status.RUNNING)
+                                        .build()
+                        ))
+        );
+
+        if (job.getStatus() == BucketVersioningJobEntity.Status.COMPLETED) {
+            log.info("Versioning change for bucket [{}] already completed", bucketName);
+            return;
+        }
+
+        log.info(
+                "Applying versioningEnabled={} to bucket [{}] (resuming at {} objects, {} versions)",
+                enabled, bucketName, job.getMetadataUpdated(), job.getVersionsUpdated()
+        );
+
+        runChunks(
+                job,
+                () -> metadataRepository.updateVersioningEnabledChunk(bucketName, enabled, chunkSize),
+                updated -> job.setMetadataUpdated(job.getMetadataUpdated() + updated)
+        );
+        runChunks(
+                job,
+                () -> versionRepository.updateVersioningEnabledChunk(bucketName, enabled, chunkSize),
+                updated -> job.setVersionsUpdated(job.getVersionsUpdated() + updated)
+        );
+
+        job.setStatus(BucketVersioningJobEntity.Status.COMPLETED);
+        job.setCompletedAt(Instant.now());
+        transactionTemplate.executeWithoutResult(status -> jobRepository.save(job));
+
+        log.info(
+                "Versioning change for bucket [{}] completed: {} objects, {} versions updated",
+                bucketName, job.getMetadataUpdated(), job.getVersionsUpdated()
+        );
+    }
+
+    // Repeats the chunk update until a chunk comes back short
+    private void runChunks(
+            BucketVersioningJobEntity job,
+            IntSupplier chunk,
+            LongConsumer progress
+    ) {
+        int updated;
+        do {
+            updated = transactionTemplate.execute(status -> {
+                int rows = chunk.getAsInt();
+                progress.accept(rows);
+                jobRepository.save(job);
+                return rows;
+            });
+            log.debug(
+                    "Bucket [{}] progress: {} objects, {} versions updated",
+                    job.getBucketName(), job.getMetadataUpdated(), job.getVersionsUpdated()
+            );
+        } while (updated == chunkSize);
+    }
+}
@@ -4,18 +4,34 @@ import com.s3.common.dto.request.CreateObjectMetadataDTO;
 import com.s3.common.dto.request.SearchObjectRequestDTO;
 import com.s3.common.dto.request.UpdateObjectMetadataDTO;
 import com.s3.common.dto.response.ObjectMetadataResponseDTO;
+import com.s3.common.dto.response.SearchObjectsResponseDTO;
+import com.s3.common.enums.SearchSortField;
+import com.s3.common.enums.TagMatch;
+import com.s3.common.exception.InvalidRequestException;
 import com.s3.common.exception.ResourceNotFoundException;
 import com.s3.common.logging.LoggingUtil;
+import com.s3.metadata.index.TagIndex;
 import com.s3.metadata.mapper.ObjectMetadataMapper;
 import com.s3.metadata.model.ObjectMetadataEntity;
-import com.s3.metadata.model.ObjectTagEntity;
 import com.s3.metadata.repository.ObjectMetadataRepository;
+import com.s3.metadata.repository.ObjectMetadataSpecifications;
+import com.s3.metadata.repository.ObjectTagRepository;
 import org.slf4j.Logger;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.util.CollectionUtils;
 
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Service
@@ -24,18 +40,35 @@ public class ObjectMetadataService {
 
     private static final Logger log = LoggingUtil.getLogger(ObjectMetadataService.class);
 
+    private static final int MAX_SEARCH_PAGE_SIZE = 100;
+    // Rows per read-only transaction when streaming search results
+    private static final int SEARCH_STREAM_CHUNK_SIZE = 500;
+
     private final ObjectMetadataRepository repository;
+    private final ObjectTagRepository tagRepository;
     private final ObjectMetadataMapper mapper;
     private final ObjectVersionService versionService;
+    private final ObjectProvider<TagIndex> tagIndex;
+    private final int maxIndexedCandidates;
+    private final TransactionTemplate readOnly;
 
     public ObjectMetadataService(
             ObjectMetadataRepository repository,
+            ObjectTagRepository tagRepository,
             ObjectMetadataMapper mapper,
-            ObjectVersionService versionService
+            ObjectVersionService versionService,
+            ObjectProvider<TagIndex> tagIndex,
+            @Value("${metadata.tag-index.max-candidates:10000}") int maxIndexedCandidates,
+            PlatformTransactionManager transactionManager
     ) {
         this.repository = repository;
+        this.tagRepository = tagRepository;
         this.mapper = mapper;
         this.versionService = versionService;
+        this.tagIndex = tagIndex;
+        this.maxIndexedCandidates = maxIndexedCandidates;
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
     }
 
     /* ===================== CREATE ===================== */
@@ -43,6 +76,16 @@ public class ObjectMetadataService {
     public ObjectMetadataResponseDTO create(
             CreateObjectMetadataDTO dto,
             String ownerId
+    ) {
+        return create(dto, ownerId, null);
+    }
+
+    /** Creates the metadata of an upload; {@code payloadVersionId} links v1 to the stored payload. */
+    @Transactional
+    public ObjectMetadataResponseDTO create(
+            CreateObjectMetadataDTO dto,
+            String ownerId,
+            String payloadVersionId
     ) {
         log.info("Creating metadata for objectId={}", dto.getObjectId());
 
@@ -51,21 +94,19 @@ public class ObjectMetadataService {
         entity.setOwnerId(ownerId);
         entity.setAccessLevel(dto.getAccessLevel());
         entity.setActiveVersion(1);
+        entity.setLatestVersion(1);
 
         //  Apply tags BEFORE saving
         applyTags(entity, dto.getTags());
 
-        log.info("Entity before save - tags count: {}", entity.getTags().size());
-
         ObjectMetadataEntity saved = repository.save(entity);
 
-        log.info("Entity after save - tags count: {}", saved.getTags().size());
-
         versionService.createInitialVersion(
                 dto.getObjectId(),
                 ownerId,
                 dto.getBucketName(),
-                dto.isVersioningEnabled()
+                dto.isVersioningEnabled(),
+                payloadVersionId
         );
 
         return mapper.toResponse(saved);
@@ -77,8 +118,19 @@ public class ObjectMetadataService {
             String objectId,
             UpdateObjectMetadataDTO dto
     ) {
+        return update(objectId, dto, null);
+    }
+
+    /** Applies an update; a new version is linked to {@code payloadVersionId}, the payload current with it. */
+    @Transactional
+    public ObjectMetadataResponseDTO update(
+            String objectId,
+            UpdateObjectMetadataDTO dto,
+            String payloadVersionId
+    ) {
+        // Row lock: concurrent updates of the object take version numbers in turn
         ObjectMetadataEntity entity = repository
-                .findByObjectId(objectId)
+                .findByObjectIdForUpdate(objectId)
                 .orElseThrow(() ->
                         new ResourceNotFoundException(
                                 "Metadata not found for objectId=" + objectId
@@ -92,12 +144,8 @@ public class ObjectMetadataService {
             applyTags(entity, dto.getTags());
         }
 
-
-
         if (Boolean.TRUE.equals(dto.isVersioningEnabled())) {
-            versionService.createNewVersion(objectId, entity.getOwnerId(), dto.getBucketName(), true
-            );
-            entity.setActiveVersion(entity.getActiveVersion() + 1);
+            versionService.createNewVersion(entity, dto.getBucketName(), true, payloadVersionId);
         }else{
             versionService.updateVersioningFlag(objectId, dto.isVersioningEnabled());
         }
@@ -120,35 +168,40 @@ public class ObjectMetadataService {
 
         versionService.deleteByObjectId(objectId);
         repository.delete(metadata);
+        tagIndex.ifAvailable(index -> index.removeAfterCommit(List.of(objectId)));
+    }
+
+    /** Removes a chunk of objects (bucket deletion) with set-based deletes. */
+    @Transactional
+    public void deleteByObjectIds(List<String> objectIds) {
+        if (objectIds == null || objectIds.isEmpty()) {
+            return;
+        }
+        versionService.deleteByObjectIds(objectIds);
+        tagRepository.deleteAllByObjectIdIn(objectIds);
+        int deleted = repository.deleteAllByObjectIdIn(objectIds);
+        tagIndex.ifAvailable(index -> index.removeAfterCommit(objectIds));
+        log.info("Deleted metadata for {} of {} objects", deleted, objectIds.size());
     }
 
     /* ===================== TAGS ===================== */
+    /**
+     * Brings the entity's tags in line with {@code tags}. Only removed tags
+     * are deleted and only new ones inserted (JDBC-batched on flush), so an
+     * update that resends the same tags writes nothing to object_tags.
+     */
     private void applyTags(
             ObjectMetadataEntity entity,
             List<String> tags
     ) {
-        log.info("Applying tags - current count: {}, new tags: {}",
-                entity.getTags() != null ? entity.getTags().size() : 0,
-                tags);
+        boolean isNew = entity.getId() == null;
+        boolean changed = entity.replaceTags(tags);
 
-        // ✅ Clear existing tags properly using helper method
-        entity.clearTags();
+        log.debug("Applied tags to objectId={}: {} (changed={})", entity.getObjectId(), tags, changed);
 
-        if (tags == null || tags.isEmpty()) {
-            log.info("No tags to apply");
-            return;
-        }
-
-        // ✅ Add new tags using helper method
-        for (String tagValue : tags) {
-            ObjectTagEntity tag = ObjectTagEntity.builder()
-                    .tag(tagValue)
-                    .build();
-            entity.addTag(tag);  // This sets both sides of the relationship
-            log.info("Added tag: {} to entity", tagValue);
+        if (changed || isNew) {
+            tagIndex.ifAvailable(index -> index.indexAfterCommit(entity));
         }
-
-        log.info("Final tags count after apply: {}", entity.getTags().size());
     }
 
     /* ===================== GET ===================== */
@@ -164,33 +217,201 @@ public class ObjectMetadataService {
     }
 
     /* ===================== Search ===================== */
+    /**
+     * One page of matches. Without a cursor the page is addressed by number
+     * and the response carries totals; with a cursor the page continues after
+     * the cursor row (keyset), skipping both the count and the offset scan.
+     * Either way {@code nextCursor} points past the last row returned.
+     */
     @Transactional(readOnly = true)
-    public List<ObjectMetadataResponseDTO> search(String ownerId, SearchObjectRequestDTO searchRequest) {
+    public SearchObjectsResponseDTO search(String ownerId, SearchObjectRequestDTO searchRequest) {
+        int page = searchRequest.getPage();
+        int size = searchRequest.getSize();
+        if (page < 0) {
+            throw new InvalidRequestException("page must not be negative");
+        }
+        if (size < 1 || size > MAX_SEARCH_PAGE_SIZE) {
+            throw new InvalidRequestException("size must be between 1 and " + MAX_SEARCH_PAGE_SIZE);
+        }
+        SearchQuery query = prepareSearch(ownerId, searchRequest);
+
+        if (query.after() != null) {
+            List<ObjectMetadataEntity> rows = fetchPage(query, query.after(), size + 1);
+            boolean hasMore = rows.size() > size;
+            List<ObjectMetadataEntity> pageRows = hasMore ? rows.subList(0, size) : rows;
+            return new SearchObjectsResponseDTO(
+                    mapper.toResponseList(pageRows),
+                    null,
+                    size,
+                    null,
+                    null,
+                    hasMore ? query.cursorAfter(pageRows.get(size - 1)).encode() : null
+            );
+        }
+
+        Page<ObjectMetadataEntity> result = repository.findAll(query.spec(), PageRequest.of(page, size, query.sort()));
+        List<ObjectMetadataEntity> rows = result.getContent();
+        return new SearchObjectsResponseDTO(
+                mapper.toResponseList(rows),
+                page,
+                size,
+                result.getTotalElements(),
+                result.getTotalPages(),
+                result.hasNext() ? query.cursorAfter(rows.get(rows.size() - 1)).encode() : null
+        );
+    }
+
+    /** Matches of a validated search, read when iterated. */
+    @FunctionalInterface
+    public interface SearchResults {
+        void forEach(Consumer<ObjectMetadataResponseDTO> sink);
+    }
+
+    /**
+     * Validates the request and returns all of its matches (from the request
+     * cursor on, if any) in search order; page and size are not used. Rows
+     * are read while iterating, in keyset chunks that each get their own
+     * short read-only transaction, so no connection or persistence context
+     * is held while the caller writes to a slow client.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public SearchResults streamSearch(String ownerId, SearchObjectRequestDTO searchRequest) {
+        SearchQuery query = prepareSearch(ownerId, searchRequest);
+        return sink -> {
+            SearchCursor after = query.after();
+            while (true) {
+                SearchCursor from = after;
+                SearchChunk chunk = readOnly.execute(status -> {
+                    List<ObjectMetadataEntity> rows = fetchPage(query, from, SEARCH_STREAM_CHUNK_SIZE);
+                    return new SearchChunk(
+                            mapper.toResponseList(rows),
+                            rows.isEmpty() ? null : query.cursorAfter(rows.get(rows.size() - 1))
+                    );
+                });
+                chunk.items().forEach(sink);
+                if (chunk.items().size() < SEARCH_STREAM_CHUNK_SIZE) {
+                    return;
+                }
+                after = chunk.last();
+            }
+        };
+    }
+
+    /** Validates the filter and cursor of the request and builds its filter and ordering. */
+    private SearchQuery prepareSearch(String ownerId, SearchObjectRequestDTO searchRequest) {
         String bucketName = normalize(searchRequest.getBucketName());
         String fileName = normalize(searchRequest.getFileName());
+        String fileNamePrefix = normalize(searchRequest.getFileNamePrefix());
         String description = normalize(searchRequest.getDescription());
         List<String> tags = normalizeTags(searchRequest.getTags());
-        boolean hasTags = !tags.isEmpty();
+        List<String> excludeTags = normalizeTags(searchRequest.getExcludeTags());
+        TagMatch tagMatch = searchRequest.getTagMatch() != null ? searchRequest.getTagMatch() : TagMatch.ANY;
+        SearchSortField sortBy = searchRequest.getSortBy() != null ? searchRequest.getSortBy() : SearchSortField.FILE_NAME;
+        boolean descending = searchRequest.isDescending();
+
+        SearchCursor after = searchRequest.getCursor() == null || searchRequest.getCursor().isBlank()
+                ? null
+                : SearchCursor.decode(searchRequest.getCursor().trim(), sortBy, descending);
+
+        log.info("Searching objects ownerId={}, bucketName={}, fileName={}, prefix={}, description={}, tags={} ({}), excludeTags={}, sortBy={}{}, cursor={}",
+                ownerId, bucketName, fileName, fileNamePrefix, description, tags, tagMatch, excludeTags,
+                sortBy, descending ? " desc" : "", after != null);
+
+        Specification<ObjectMetadataEntity> spec = ObjectMetadataSpecifications.ownedBy(ownerId);
+        if (!bucketName.isEmpty()) {
+            // Bucket names are matched exactly, as stored
+            spec = spec.and(ObjectMetadataSpecifications.inBucket(searchRequest.getBucketName().trim()));
+        }
+        if (!fileName.isEmpty()) {
+            spec = spec.and(ObjectMetadataSpecifications.fileNameContains(fileName));
+        }
+        if (!fileNamePrefix.isEmpty()) {
+            spec = spec.and(ObjectMetadataSpecifications.fileNameStartsWith(fileNamePrefix));
+        }
+        if (!description.isEmpty()) {
+            spec = spec.and(ObjectMetadataSpecifications.descriptionContains(description));
+        }
+        if (!tags.isEmpty() || !excludeTags.isEmpty()) {
+            spec = spec.and(tagFilter(ownerId, tags, tagMatch, excludeTags));
+        }
 
-        log.info("Searching objects ownerId={}, bucketName={}, fileName={}, description={}, tags={}",
-                ownerId, bucketName, fileName, description, tags);
+        // id breaks ties so keyset positions are unique
+        Sort.Direction direction = descending ? Sort.Direction.DESC : Sort.Direction.ASC;
+        Sort sort = Sort.by(direction, SearchCursor.attribute(sortBy)).and(Sort.by(direction, "id"));
+        return new SearchQuery(spec, sort, sortBy, descending, after);
+    }
+
+    private List<ObjectMetadataEntity> fetchPage(SearchQuery query, SearchCursor after, int limit) {
+        Specification<ObjectMetadataEntity> spec =
+                after == null ? query.spec() : query.spec().and(after.continuation());
+        return repository.findBy(spec, q -> q.sortBy(query.sort()).limit(limit).all());
+    }
+
+    private record SearchQuery(
+            Specification<ObjectMetadataEntity> spec,
+            Sort sort,
+            SearchSortField sortBy,
+            boolean descending,
+            SearchCursor after
+    ) {
+        SearchCursor cursorAfter(ObjectMetadataEntity last) {
+            return SearchCursor.after(last, sortBy, descending);
+        }
+    }
 
-        return mapper.toResponseList(
-                repository.search(ownerId, bucketName, fileName, description, tags, hasTags));
+    private record SearchChunk(List<ObjectMetadataResponseDTO> items, SearchCursor last) {
+    }
+
+    /**
+     * Resolves the tag filter through the in-memory index when it is enabled
+     * and the match set is small enough for an id list; otherwise falls back
+     * to subqueries on {@code object_tags}.
+     */
+    private Specification<ObjectMetadataEntity> tagFilter(
+            String ownerId,
+            List<String> tags,
+            TagMatch tagMatch,
+            List<String> excludeTags
+    ) {
+        TagIndex index = tagIndex.getIfAvailable();
+        if (index != null && index.isReady()) {
+            TagIndex.Result matches = index.query(
+                    ownerId,
+                    tagMatch == TagMatch.ALL ? tags : List.of(),
+                    tagMatch == TagMatch.ANY ? tags : List.of(),
+                    excludeTags,
+                    0,
+                    maxIndexedCandidates + 1
+            );
+            if (matches.total() <= maxIndexedCandidates) {
+                return ObjectMetadataSpecifications.objectIdIn(matches.objectIds());
+            }
+        }
+
+        Specification<ObjectMetadataEntity> spec = Specification.where(null);
+        if (!tags.isEmpty()) {
+            long required = tagMatch == TagMatch.ALL ? tags.size() : 1;
+            spec = spec.and(ObjectMetadataSpecifications.hasTags(tags, required));
+        }
+        if (!excludeTags.isEmpty()) {
+            spec = spec.and(ObjectMetadataSpecifications.lacksTags(excludeTags));
+        }
+        return spec;
     }
 
     private String normalize(String value) {
-        return value == null ? "" : value.toLowerCase();
+        return value == null ? "" : value.trim().toLowerCase();
     }
 
     private List<String> normalizeTags(List<String> tags) {
         if (tags == null || tags.isEmpty()) {
             return List.of();
         }
-        // Ensure tags are flattened and trimmed
+        // Ensure tags are flattened, trimmed and distinct (ALL counts matches)
         return tags.stream()
                 .filter(tag -> tag != null && !tag.trim().isEmpty())
                 .map(String::trim)
+                .distinct()
                 .collect(Collectors.toList());
     }
 
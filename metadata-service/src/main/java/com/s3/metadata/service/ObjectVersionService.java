@@ -1,17 +1,23 @@
 package com.s3.metadata.service;
 
 import com.s3.common.dto.response.ObjectVersionResponseDTO;
+import com.s3.common.exception.InvalidRequestException;
 import com.s3.common.exception.ResourceNotFoundException;
 import com.s3.common.logging.LoggingUtil;
 import com.s3.metadata.mapper.ObjectVersionMapper;
+import com.s3.metadata.model.ObjectMetadataEntity;
 import com.s3.metadata.model.ObjectVersionEntity;
+import com.s3.metadata.repository.ObjectMetadataRepository;
 import com.s3.metadata.repository.ObjectVersionRepository;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Service
@@ -23,6 +29,8 @@ public class ObjectVersionService {
 
     private final ObjectVersionRepository repository;
     private final ObjectVersionMapper mapper;
+    private final ObjectMetadataRepository metadataRepository;
+    private final EntityManager entityManager;
 
     /* =====================================================
        CREATE INITIAL VERSION (OBJECT_CREATED)
@@ -33,7 +41,8 @@ public class ObjectVersionService {
             String objectId,
             String ownerId,
             String bucketName,
-            boolean versioningEnabled
+            boolean versioningEnabled,
+            String payloadVersionId
     ) {
 
         log.info(
@@ -50,9 +59,10 @@ public class ObjectVersionService {
                 .versioningEnabled(versioningEnabled)
                 .versionNumber(1)
                 .isActive(true)
+                .payloadVersionId(payloadVersionId)
                 .build();
 
-        repository.save(version);
+        entityManager.persist(version);
 
         log.info("Initial version [v1] created for object [{}]", objectId);
     }
@@ -61,54 +71,92 @@ public class ObjectVersionService {
        CREATE NEW VERSION (OBJECT_UPDATED)
        ===================================================== */
 
+    /**
+     * Adds the next version of an object whose metadata row the caller has
+     * locked ({@code findByObjectIdForUpdate}) and makes it active. The
+     * number comes from the metadata's {@code latestVersion} counter instead
+     * of a MAX lookup, and the old active version is retired with one
+     * statement; the partial unique index on active versions backs this up.
+     * {@code payloadVersionId} is the object-service payload version current
+     * with it, if known.
+     */
     @Transactional
     public void createNewVersion(
-            String objectId,
-            String ownerId,
+            ObjectMetadataEntity metadata,
             String bucketName,
-            boolean versioningEnabled
+            boolean versioningEnabled,
+            String payloadVersionId
     ) {
 
         // Guard: if versioning is disabled, do NOT create a new version
         if (!versioningEnabled) {
             log.info(
                     "Versioning disabled for object [{}], skipping version creation",
-                    objectId
+                    metadata.getObjectId()
             );
             return;
         }
 
-        log.info(
-                "Creating new version for object [{}], bucket [{}]",
-                objectId, bucketName
-        );
-
-        repository.findByObjectIdAndIsActiveTrue(objectId)
-                .ifPresent(active -> {
-                    active.setActive(false);
-                    repository.save(active);
-                });
+        int nextVersion = metadata.getLatestVersion() + 1;
+        repository.deactivate(metadata.getObjectId());
 
-        int nextVersion = repository
-                .findTopByObjectIdOrderByVersionNumberDesc(objectId)
-                .map(v -> v.getVersionNumber() + 1)
-                .orElse(1);
-
-        ObjectVersionEntity version = ObjectVersionEntity.builder()
+        entityManager.persist(ObjectVersionEntity.builder()
                 .id(UUID.randomUUID())
-                .objectId(objectId)
-                .ownerId(ownerId)
+                .objectId(metadata.getObjectId())
+                .ownerId(metadata.getOwnerId())
                 .bucketName(bucketName)
                 .versioningEnabled(versioningEnabled)
                 .versionNumber(nextVersion)
                 .isActive(true)
-                .build();
+                .payloadVersionId(payloadVersionId)
+                .build());
 
-        repository.save(version);
+        metadata.setLatestVersion(nextVersion);
+        metadata.setActiveVersion(nextVersion);
 
         log.info(
-                "Version [v{}] created for object [{}]",
-                nextVersion, objectId
+                "Version [v{}] created for object [{}] in bucket [{}]",
+                nextVersion, metadata.getObjectId(), bucketName
+        );
+    }
+
+    /* =====================================================
+       RESTORE PAYLOAD VERSION (OBJECT_UPDATED, restored)
+       ===================================================== */
+
+    /**
+     * Follows a restore in object-service: activates the latest metadata
+     * version recorded with the restored payload version. Payloads restored
+     * from before versions were linked have none, so a new metadata version
+     * is recorded for them instead.
+     */
+    @Transactional
+    public void restorePayloadVersion(String objectId, String bucketName, String payloadVersionId) {
+
+        ObjectMetadataEntity metadata = metadataRepository
+                .findByObjectIdForUpdate(objectId)
+                .orElseThrow(() ->
+                        new ResourceNotFoundException(
+                                "Metadata not found for objectId=" + objectId
+                        )
+                );
+
+        Optional<ObjectVersionEntity> recorded = payloadVersionId == null
+                ? Optional.empty()
+                : repository.findFirstByObjectIdAndPayloadVersionIdOrderByVersionNumberDesc(objectId, payloadVersionId);
+        if (recorded.isEmpty()) {
+            createNewVersion(metadata, bucketName, true, payloadVersionId);
+            return;
+        }
+
+        int versionNumber = recorded.get().getVersionNumber();
+        repository.deactivate(objectId);
+        repository.activate(objectId, versionNumber);
+        metadata.setActiveVersion(versionNumber);
+
+        log.info(
+                "Object [{}] restored to payload [{}], active version [v{}]",
+                objectId, payloadVersionId, versionNumber
         );
     }
 
@@ -123,23 +171,43 @@ public class ObjectVersionService {
 
     /* ===================== ROLLBACK ===================== */
 
+    /**
+     * Activates an earlier metadata version. The payload itself lives in
+     * object-service, so a version recorded with a different payload version
+     * than the active one is refused: restoring that payload version in
+     * object-service rolls the metadata back as well.
+     */
     @Transactional
     public void rollback(String objectId, int versionNumber) {
 
-        ObjectVersionEntity target = repository
-                .findByObjectIdAndVersionNumber(objectId, versionNumber)
+        // Serializes with version creation on the same object
+        ObjectMetadataEntity metadata = metadataRepository
+                .findByObjectIdForUpdate(objectId)
                 .orElseThrow(() ->
-                        new IllegalArgumentException("Version not found")
+                        new ResourceNotFoundException(
+                                "Metadata not found for objectId=" + objectId
+                        )
                 );
 
-        repository.findByObjectIdAndIsActiveTrue(objectId)
-                .ifPresent(active -> {
-                    active.setActive(false);
-                    repository.save(active);
-                });
+        ObjectVersionEntity target = repository
+                .findByObjectIdAndVersionNumber(objectId, versionNumber)
+                .orElseThrow(() -> new IllegalArgumentException("Version not found"));
+        String activePayload = repository.findByObjectIdAndIsActiveTrue(objectId)
+                .map(ObjectVersionEntity::getPayloadVersionId)
+                .orElse(null);
+        if (target.getPayloadVersionId() != null
+                && activePayload != null
+                && !target.getPayloadVersionId().equals(activePayload)) {
+            throw new InvalidRequestException(
+                    "Version " + versionNumber + " belongs to payload version "
+                            + target.getPayloadVersionId() + "; restore that version in object-service"
+            );
+        }
 
-        target.setActive(true);
-        repository.save(target);
+        // Retire first: the partial unique index allows one active version
+        repository.deactivate(objectId);
+        repository.activate(objectId, versionNumber);
+        metadata.setActiveVersion(versionNumber);
 
         log.info(
                 "Rolled back object [{}] to version [{}]",
@@ -154,6 +222,11 @@ public class ObjectVersionService {
         repository.deleteByObjectId(objectId);
     }
 
+    @Transactional
+    public int deleteByObjectIds(Collection<String> objectIds) {
+        return repository.deleteAllByObjectIdIn(objectIds);
+    }
+
     /* ===================== ACTIVE VERSION ===================== */
 
     @Transactional(readOnly = true)
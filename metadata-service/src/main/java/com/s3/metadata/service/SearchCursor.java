@@ -0,0 +1,78 @@
+package com.s3.metadata.service;
+
+import com.s3.common.enums.SearchSortField;
+import com.s3.common.exception.InvalidRequestException;
+import com.s3.metadata.model.ObjectMetadataEntity;
+import com.s3.metadata.repository.ObjectMetadataSpecifications;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Opaque keyset position for metadata search: the sort field, direction,
+ * and the sort value and id of the last row returned. Encoded as URL-safe
+ * Base64 so clients pass it back unchanged.
+ */
+record SearchCursor(SearchSortField sortBy, boolean descending, UUID id, String value) {
+
+    private static final String SEPARATOR = "|";
+
+    static SearchCursor after(ObjectMetadataEntity last, SearchSortField sortBy, boolean descending) {
+        String value = switch (sortBy) {
+            case FILE_NAME -> last.getFileName();
+            case CREATED_AT -> String.valueOf(last.getCreatedAt());
+            case UPDATED_AT -> String.valueOf(last.getUpdatedAt());
+        };
+        return new SearchCursor(sortBy, descending, last.getId(), value);
+    }
+
+    /** Decodes a cursor and checks it belongs to a search with the same ordering. */
+    static SearchCursor decode(String token, SearchSortField sortBy, boolean descending) {
+        SearchCursor cursor;
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            // The value goes last: file names may contain the separator
+            String[] parts = raw.split("\\|", 4);
+            cursor = new SearchCursor(
+                    SearchSortField.valueOf(parts[0]),
+                    Boolean.parseBoolean(parts[1]),
+                    UUID.fromString(parts[2]),
+                    parts[3]
+            );
+            cursor.continuation();
+        } catch (RuntimeException e) {
+            throw new InvalidRequestException("Invalid search cursor");
+        }
+        if (cursor.sortBy != sortBy || cursor.descending != descending) {
+            throw new InvalidRequestException("Search cursor does not match sortBy/descending of the request");
+        }
+        return cursor;
+    }
+
+    String encode() {
+        String raw = sortBy + SEPARATOR + descending + SEPARATOR + id + SEPARATOR + value;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /** Predicate selecting the rows that follow this position. */
+    Specification<ObjectMetadataEntity> continuation() {
+        String attribute = attribute(sortBy);
+        return switch (sortBy) {
+            case FILE_NAME -> ObjectMetadataSpecifications.after(attribute, value, id, descending);
+            case CREATED_AT, UPDATED_AT ->
+                    ObjectMetadataSpecifications.after(attribute, Instant.parse(value), id, descending);
+        };
+    }
+
+    /** Entity attribute behind a sort field. */
+    static String attribute(SearchSortField sortBy) {
+        return switch (sortBy) {
+            case FILE_NAME -> "fileName";
+            case CREATED_AT -> "createdAt";
+            case UPDATED_AT -> "updatedAt";
+        };
+    }
+}
@@ -0,0 +1,7 @@
+-- =====================================================
+-- PROCESSED EVENTS RETENTION
+-- =====================================================
+
+-- Serves the TTL purge and the rebalance catch-up (processed_at range scans)
+CREATE INDEX IF NOT EXISTS idx_processed_events_processed_at
+    ON public.processed_events(processed_at);
@@ -0,0 +1,29 @@
+-- =====================================================
+-- BUCKET VERSIONING JOBS
+-- =====================================================
+
+-- Progress of bucket-wide versioning changes (one row per event)
+CREATE TABLE IF NOT EXISTS public.bucket_versioning_jobs (
+    event_id VARCHAR(100) NOT NULL,
+    bucket_name VARCHAR(255) NOT NULL,
+    versioning_enabled BOOLEAN NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    metadata_updated BIGINT NOT NULL DEFAULT 0,
+    versions_updated BIGINT NOT NULL DEFAULT 0,
+    started_at TIMESTAMPTZ NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMPTZ NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    completed_at TIMESTAMPTZ,
+
+    CONSTRAINT bucket_versioning_jobs_pkey PRIMARY KEY (event_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_bucket_versioning_jobs_bucket
+    ON public.bucket_versioning_jobs(bucket_name, started_at);
+
+-- Chunked set-based updates seek straight to the bucket's rows that still
+-- carry the old flag; rows already flipped move out of that key range
+CREATE INDEX IF NOT EXISTS idx_object_metadata_bucket_versioning
+    ON public.object_metadata(bucket_name, versioning_enabled);
+
+CREATE INDEX IF NOT EXISTS idx_object_versions_bucket_versioning
+    ON public.object_versions(bucket_name, versioning_enabled);
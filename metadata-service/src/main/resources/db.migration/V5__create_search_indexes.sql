@@ -0,0 +1,24 @@
+-- =====================================================
+-- METADATA SEARCH INDEXES
+-- =====================================================
+
+-- Substring matches on lower(file_name) / lower(description)
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_object_metadata_file_name_trgm
+    ON public.object_metadata USING gin (lower(file_name) gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS idx_object_metadata_description_trgm
+    ON public.object_metadata USING gin (lower(description) gin_trgm_ops);
+
+-- Prefix matches (lower(file_name) LIKE 'x%') within an owner
+CREATE INDEX IF NOT EXISTS idx_object_metadata_owner_file_name_prefix
+    ON public.object_metadata(owner_id, lower(file_name) text_pattern_ops);
+
+-- Result order (file_name, id) within an owner
+CREATE INDEX IF NOT EXISTS idx_object_metadata_owner_file_name
+    ON public.object_metadata(owner_id, file_name, id);
+
+-- Tag filters look up metadata ids by tag
+CREATE INDEX IF NOT EXISTS idx_object_tags_tag
+    ON public.object_tags(tag, metadata_id);
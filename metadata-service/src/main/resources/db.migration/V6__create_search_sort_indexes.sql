@@ -0,0 +1,11 @@
+-- =====================================================
+-- METADATA SEARCH SORT INDEXES
+-- =====================================================
+
+-- Result order and keyset continuation for sortBy=CREATED_AT / UPDATED_AT
+-- (sortBy=FILE_NAME uses idx_object_metadata_owner_file_name from V5)
+CREATE INDEX IF NOT EXISTS idx_object_metadata_owner_created_at
+    ON public.object_metadata(owner_id, created_at, id);
+
+CREATE INDEX IF NOT EXISTS idx_object_metadata_owner_updated_at
+    ON public.object_metadata(owner_id, updated_at, id);
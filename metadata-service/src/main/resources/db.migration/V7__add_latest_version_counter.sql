@@ -0,0 +1,20 @@
+-- =====================================================
+-- PER-OBJECT VERSION COUNTER
+-- =====================================================
+
+-- Highest version number handed out per object; new versions take
+-- latest_version + 1 under the metadata row lock instead of MAX(version_number)
+ALTER TABLE public.object_metadata
+    ADD COLUMN IF NOT EXISTS latest_version INTEGER;
+
+UPDATE public.object_metadata m
+SET latest_version = COALESCE(
+        (SELECT MAX(v.version_number) FROM public.object_versions v WHERE v.object_id = m.object_id),
+        m.active_version,
+        1)
+WHERE latest_version IS NULL;
+
+ALTER TABLE public.object_metadata
+    ALTER COLUMN latest_version SET NOT NULL;
+
+-- ux_object_versions_active (V1) keeps at most one active version per object
@@ -0,0 +1,13 @@
+-- =====================================================
+-- PAYLOAD VERSION OF EACH METADATA VERSION
+-- =====================================================
+
+-- object-service version id of the payload that was current when the
+-- metadata version was recorded; NULL for versions recorded before this
+-- change. A restore in object-service re-activates the latest metadata
+-- version of the restored payload.
+ALTER TABLE public.object_versions
+    ADD COLUMN IF NOT EXISTS payload_version_id VARCHAR(255);
+
+CREATE INDEX IF NOT EXISTS idx_object_versions_payload_version
+    ON public.object_versions(object_id, payload_version_id);
@@ -7,11 +7,17 @@ import io.swagger.v3.oas.annotations.OpenAPIDefinition;
 import io.swagger.v3.oas.annotations.info.Info;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
 import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @OpenAPIDefinition(info = @Info(title = "Object Service API", version = "v1"))
 @SpringBootApplication(scanBasePackages = {"com.s3.object", "com.s3.common"})
+@EntityScan(basePackages = {"com.s3.object", "com.s3.common.events.outbox", "com.s3.common.events.idempotency"})
+@EnableJpaRepositories(basePackages = {"com.s3.object", "com.s3.common.events.outbox", "com.s3.common.events.idempotency"})
 @EnableCaching
+@EnableScheduling
 public class ObjectServiceApplication {
 
 //    @PostConstruct
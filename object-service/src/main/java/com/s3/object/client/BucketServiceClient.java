@@ -0,0 +1,117 @@
+package com.s3.object.client;
+
+import com.s3.common.dto.BucketDTO;
+import com.s3.common.exception.ResourceNotFoundException;
+import com.s3.common.logging.LoggingUtil;
+import com.s3.common.response.ApiResponse;
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.util.Objects;
+
+/**
+ * Bucket lookups against bucket-service, cached per bucket name.
+ * <p>
+ * Entries are populated on miss and kept current by the BUCKET_UPDATED /
+ * BUCKET_DELETED events consumed in {@code BucketEventHandler}. Bucket
+ * events reach only one replica of the consumer group, so the cache TTL
+ * ({@code spring.cache.caffeine.spec}) bounds staleness on the others.
+ * Size, TTL and hit/miss metrics come from the Caffeine cache manager.
+ */
+@Component
+public class BucketServiceClient {
+
+    public static final String BUCKET_CACHE = "buckets";
+
+    private static final Logger log = LoggingUtil.getLogger(BucketServiceClient.class);
+
+    private final WebClient webClient;
+    private final CacheManager cacheManager;
+
+    @Value("${bucket.service.url:http://localhost:8085}")
+    private String bucketServiceUrl;
+
+    public BucketServiceClient(WebClient.Builder webClientBuilder, CacheManager cacheManager) {
+        this.webClient = webClientBuilder.build();
+        this.cacheManager = cacheManager;
+    }
+
+    @Cacheable(cacheNames = BUCKET_CACHE, key = "#bucketName")
+    public BucketDTO getBucket(String bucketName) {
+        return fetch(bucketName, null).block();
+    }
+
+    /**
+     * Non-blocking lookup of a bucket owned by {@code userId}, for callers
+     * not running on a request thread (the SecurityContext is not
+     * available, so the token is passed in). Shares the {@code buckets}
+     * cache with {@link #getBucket}; ownership is checked on every call
+     * because entries are shared across users.
+     */
+    public Mono<BucketDTO> getOwnedBucket(String bucketName, String userId, String token) {
+        Cache cache = cacheManager.getCache(BUCKET_CACHE);
+        BucketDTO cached = cache != null ? cache.get(bucketName, BucketDTO.class) : null;
+
+        Mono<BucketDTO> bucket = cached != null
+                ? Mono.just(cached)
+                : fetch(bucketName, token).doOnNext(fetched -> {
+                    if (cache != null) {
+                        cache.put(bucketName, fetched);
+                    }
+                });
+
+        return bucket.filter(found -> Objects.equals(found.getOwnerId(), userId))
+                .switchIfEmpty(Mono.error(new ResourceNotFoundException("Bucket not found: " + bucketName)));
+    }
+
+    /** @param token bearer token, or {@code null} to take it from the SecurityContext */
+    private Mono<BucketDTO> fetch(String bucketName, String token) {
+        return webClient.get()
+                .uri(bucketServiceUrl + "/buckets/{name}", bucketName)
+                .headers(headers -> {
+                    if (token != null) {
+                        headers.setBearerAuth(token);
+                    }
+                })
+                .retrieve()
+                .onStatus(
+                        HttpStatusCode::is4xxClientError,
+                        r -> Mono.error(new ResourceNotFoundException("Bucket not found: " + bucketName))
+                )
+                .bodyToMono(new ParameterizedTypeReference<ApiResponse<BucketDTO>>() {})
+                .mapNotNull(ApiResponse::getData)
+                .switchIfEmpty(Mono.error(new ResourceNotFoundException("Bucket not found: " + bucketName)));
+    }
+
+    /** Applies a versioning change to the cached entry, if any. */
+    public void updateVersioning(String bucketName, boolean versioningEnabled) {
+        Cache cache = cacheManager.getCache(BUCKET_CACHE);
+        if (cache == null) {
+            return;
+        }
+        BucketDTO cached = cache.get(bucketName, BucketDTO.class);
+        if (cached != null) {
+            cache.put(bucketName, new BucketDTO(
+                    cached.getBucketName(),
+                    cached.getOwnerId(),
+                    versioningEnabled,
+                    cached.getCreatedAt()
+            ));
+            log.debug("Updated cached bucket [{}] versioningEnabled={}", bucketName, versioningEnabled);
+        }
+    }
+
+    @CacheEvict(cacheNames = BUCKET_CACHE, key = "#bucketName")
+    public void evict(String bucketName) {
+        log.debug("Evicted cached bucket [{}]", bucketName);
+    }
+}
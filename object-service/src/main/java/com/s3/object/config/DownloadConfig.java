@@ -0,0 +1,39 @@
+package com.s3.object.config;
+
+import com.s3.object.download.ZeroCopyFileTransfer;
+import com.s3.object.download.ZeroCopyResourceHttpMessageConverter;
+import com.s3.object.download.ZeroCopyResourceRegionHttpMessageConverter;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.ResourceHttpMessageConverter;
+import org.springframework.http.converter.ResourceRegionHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Swaps the default resource converters for the zero-copy variants, keeping
+ * their position in the converter chain.
+ */
+@Configuration
+public class DownloadConfig implements WebMvcConfigurer {
+
+    private final ZeroCopyFileTransfer fileTransfer;
+
+    public DownloadConfig(ZeroCopyFileTransfer fileTransfer) {
+        this.fileTransfer = fileTransfer;
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.replaceAll(converter -> {
+            if (converter.getClass() == ResourceHttpMessageConverter.class) {
+                return new ZeroCopyResourceHttpMessageConverter(fileTransfer);
+            }
+            if (converter.getClass() == ResourceRegionHttpMessageConverter.class) {
+                return new ZeroCopyResourceRegionHttpMessageConverter(fileTransfer);
+            }
+            return converter;
+        });
+    }
+}
@@ -0,0 +1,24 @@
+package com.s3.object.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Defers Tomcat's {@code 100 Continue} until the application first reads
+ * the request body. Raw-body uploads validate bucket, name and length
+ * before reading, so a client sending {@code Expect: 100-continue} gets the
+ * error instead of an invitation to transmit a body that would be rejected.
+ */
+@Configuration
+@ConditionalOnProperty(name = "storage.put.defer-continue", havingValue = "true", matchIfMissing = true)
+public class UploadConfig {
+
+    @Bean
+    public WebServerFactoryCustomizer<TomcatServletWebServerFactory> continueOnReadCustomizer() {
+        return factory -> factory.addConnectorCustomizers(connector ->
+                connector.setProperty("continueResponseTiming", "onRead"));
+    }
+}
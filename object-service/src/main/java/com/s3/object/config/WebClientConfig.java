@@ -2,6 +2,7 @@ package com.s3.object.config;
 
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.reactive.function.client.ClientRequest;
@@ -23,7 +24,10 @@ public class WebClientConfig {
                     Authentication auth =
                             SecurityContextHolder.getContext().getAuthentication();
 
-                    if (auth != null && auth.getCredentials() instanceof String token) {
+                    // Callers off the request thread pass their token explicitly
+                    if (auth != null
+                            && auth.getCredentials() instanceof String token
+                            && !request.headers().containsKey(HttpHeaders.AUTHORIZATION)) {
                         return next.exchange(
                                 ClientRequest.from(request)
                                         .header("Authorization", "Bearer " + token)
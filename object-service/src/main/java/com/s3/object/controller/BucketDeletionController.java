@@ -0,0 +1,69 @@
+package com.s3.object.controller;
+
+import com.s3.common.dto.response.BucketDeletionStatusDTO;
+import com.s3.common.logging.LoggingUtil;
+import com.s3.common.response.ApiResponse;
+import com.s3.common.security.JwtUserPrincipal;
+import com.s3.object.service.BucketDeletionService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.slf4j.Logger;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/bucket-deletions")
+@Tag(
+        name = "Bucket Deletion",
+        description = "Progress of the background removal of objects in deleted buckets"
+)
+public class BucketDeletionController {
+
+    private static final Logger log = LoggingUtil.getLogger(BucketDeletionController.class);
+    private final BucketDeletionService bucketDeletionService;
+
+    public BucketDeletionController(BucketDeletionService bucketDeletionService) {
+        this.bucketDeletionService = bucketDeletionService;
+    }
+
+    // ----------------------------------------------------------------------
+    // DELETION STATUS
+    // ----------------------------------------------------------------------
+    @GetMapping("/{bucketName}")
+    @Operation(
+            summary = "Get bucket deletion status",
+            description = "Returns the progress of the most recent deletion job for a bucket owned by the authenticated user.",
+            responses = {
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                            responseCode = "200",
+                            description = "Job status returned"
+                    ),
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                            responseCode = "401",
+                            description = "Unauthorized"
+                    ),
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                            responseCode = "404",
+                            description = "No deletion job for this bucket"
+                    )
+            }
+    )
+    public ResponseEntity<ApiResponse<BucketDeletionStatusDTO>> getStatus(
+            @Parameter(description = "Bucket name", required = true)
+            @PathVariable String bucketName,
+
+            @AuthenticationPrincipal JwtUserPrincipal user
+    ) {
+
+        log.info("User [{}] fetching deletion status of bucket [{}]", user.getUserId(), bucketName);
+
+        return ResponseEntity.ok(ApiResponse.success(
+                bucketDeletionService.getStatus(bucketName, user.getUserId())
+        ));
+    }
+}
@@ -0,0 +1,185 @@
+package com.s3.object.controller;
+
+import com.s3.common.dto.request.CompleteMultipartUploadRequestDTO;
+import com.s3.common.dto.request.CreateObjectRequestDTO;
+import com.s3.common.dto.response.MultipartPartResponseDTO;
+import com.s3.common.dto.response.MultipartUploadResponseDTO;
+import com.s3.common.dto.response.ObjectResponseDTO;
+import com.s3.common.enums.AccessLevel;
+import com.s3.common.logging.LoggingUtil;
+import com.s3.common.response.ApiResponse;
+import com.s3.common.security.JwtUserPrincipal;
+import com.s3.object.service.MultipartUploadService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import org.slf4j.Logger;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+@RestController
+@RequestMapping("/objects")
+@Tag(
+        name = "Multipart Upload",
+        description = "APIs for uploading large objects in independently uploaded parts"
+)
+public class MultipartUploadController {
+
+    private static final Logger log = LoggingUtil.getLogger(MultipartUploadController.class);
+    private final MultipartUploadService multipartUploadService;
+
+    public MultipartUploadController(MultipartUploadService multipartUploadService) {
+        this.multipartUploadService = multipartUploadService;
+    }
+
+    // ----------------------------------------------------------------------
+    // INITIATE
+    // ----------------------------------------------------------------------
+    @PostMapping(value = "/{bucketName}/uploads", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Initiate a multipart upload")
+    public ResponseEntity<ApiResponse<MultipartUploadResponseDTO>> initiate(
+            @PathVariable String bucketName,
+            @RequestParam("fileName") String fileName,
+            @RequestParam(value = "contentType", required = false) String contentType,
+            @RequestParam(value = "description", required = false) String description,
+            @RequestParam(value = "tags", required = false) List<String> tags,
+            @RequestParam(value = "accessLevel", defaultValue = "PRIVATE") AccessLevel accessLevel,
+            @AuthenticationPrincipal JwtUserPrincipal user
+    ) {
+        CreateObjectRequestDTO metadata = CreateObjectRequestDTO.builder()
+                .description(description)
+                .tags(tags != null ? tags : new ArrayList<>())
+                .accessLevel(accessLevel)
+                .build();
+
+        log.info(
+                "User [{}] initiating multipart upload of [{}] to bucket [{}]",
+                user.getUserId(),
+                fileName,
+                bucketName
+        );
+
+        MultipartUploadResponseDTO upload = multipartUploadService.initiate(
+                bucketName,
+                user.getUserId(),
+                fileName,
+                contentType,
+                metadata
+        );
+
+        return ResponseEntity
+                .status(HttpStatus.CREATED)
+                .body(ApiResponse.success(upload));
+    }
+
+    // ----------------------------------------------------------------------
+    // UPLOAD PART
+    // ----------------------------------------------------------------------
+    @PutMapping(
+            value = "/{bucketName}/uploads/{uploadId}/parts/{partNumber}",
+            consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE,
+            produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    @Operation(
+            summary = "Upload a part",
+            description = "Streams the raw request body as the given part. Parts may be uploaded "
+                    + "in parallel and re-uploaded to replace a previous attempt."
+    )
+    public ResponseEntity<ApiResponse<MultipartPartResponseDTO>> uploadPart(
+            @PathVariable String bucketName,
+            @PathVariable String uploadId,
+            @PathVariable int partNumber,
+            HttpServletRequest request,
+            @AuthenticationPrincipal JwtUserPrincipal user
+    ) throws IOException {
+
+        log.debug(
+                "User [{}] uploading part [{}] of upload [{}]",
+                user.getUserId(),
+                partNumber,
+                uploadId
+        );
+
+        MultipartPartResponseDTO part = multipartUploadService.uploadPart(
+                bucketName,
+                uploadId,
+                partNumber,
+                user.getUserId(),
+                request.getInputStream()
+        );
+
+        return ResponseEntity.ok(ApiResponse.success(part));
+    }
+
+    // ----------------------------------------------------------------------
+    // LIST PARTS
+    // ----------------------------------------------------------------------
+    @GetMapping("/{bucketName}/uploads/{uploadId}/parts")
+    @Operation(summary = "List uploaded parts, e.g. to resume an interrupted upload")
+    public ResponseEntity<ApiResponse<List<MultipartPartResponseDTO>>> listParts(
+            @PathVariable String bucketName,
+            @PathVariable String uploadId,
+            @AuthenticationPrincipal JwtUserPrincipal user
+    ) {
+        return ResponseEntity.ok(ApiResponse.success(
+                multipartUploadService.listParts(bucketName, uploadId, user.getUserId())
+        ));
+    }
+
+    // ----------------------------------------------------------------------
+    // COMPLETE
+    // ----------------------------------------------------------------------
+    @PostMapping(
+            value = "/{bucketName}/uploads/{uploadId}/complete",
+            consumes = MediaType.APPLICATION_JSON_VALUE,
+            produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    @Operation(summary = "Complete a multipart upload and create the object")
+    public ResponseEntity<ApiResponse<ObjectResponseDTO>> complete(
+            @PathVariable String bucketName,
+            @PathVariable String uploadId,
+            @RequestBody CompleteMultipartUploadRequestDTO request,
+            @AuthenticationPrincipal JwtUserPrincipal user
+    ) throws IOException {
+
+        log.info(
+                "User [{}] completing multipart upload [{}] in bucket [{}]",
+                user.getUserId(),
+                uploadId,
+                bucketName
+        );
+
+        ObjectResponseDTO object = multipartUploadService.complete(
+                bucketName,
+                uploadId,
+                user.getUserId(),
+                request
+        );
+
+        return ResponseEntity
+                .status(HttpStatus.CREATED)
+                .body(ApiResponse.success(object));
+    }
+
+    // ----------------------------------------------------------------------
+    // ABORT
+    // ----------------------------------------------------------------------
+    @DeleteMapping("/{bucketName}/uploads/{uploadId}")
+    @Operation(summary = "Abort a multipart upload and discard its parts")
+    public ResponseEntity<ApiResponse<Void>> abort(
+            @PathVariable String bucketName,
+            @PathVariable String uploadId,
+            @AuthenticationPrincipal JwtUserPrincipal user
+    ) {
+        log.info("User [{}] aborting multipart upload [{}]", user.getUserId(), uploadId);
+        multipartUploadService.abort(bucketName, uploadId, user.getUserId());
+        return ResponseEntity.ok(ApiResponse.success());
+    }
+}
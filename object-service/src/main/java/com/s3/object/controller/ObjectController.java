@@ -2,6 +2,8 @@ package com.s3.object.controller;
 
 import com.s3.common.dto.request.CreateObjectRequestDTO;
 import com.s3.common.dto.request.UpdateObjectRequestDTO;
+import com.s3.common.dto.response.ListObjectsResponseDTO;
+import com.s3.common.dto.response.ObjectPayloadVersionResponseDTO;
 import com.s3.common.dto.response.ObjectResponseDTO;
 import com.s3.common.enums.AccessLevel;
 import com.s3.common.logging.LoggingUtil;
@@ -11,8 +13,10 @@ import com.s3.object.service.ObjectService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import org.slf4j.Logger;
 import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -84,6 +88,60 @@ public class ObjectController {
                 .body(ApiResponse.success(objectRes));
     }
 
+    @PutMapping(
+            value = "/{bucketName}/{objectName}",
+            produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    @Operation(
+            summary = "Upload object from the raw request body",
+            description = "S3-style PutObject: the body is the object content and is streamed straight "
+                    + "into storage. Content-Type is stored as the object's type. Metadata is taken from "
+                    + "x-amz-meta-description, x-amz-meta-tags (comma-separated) and "
+                    + "x-amz-meta-access-level. Bucket, name and Content-Length are checked before the "
+                    + "body is read, so with Expect: 100-continue a rejected upload is never transmitted."
+    )
+    public ResponseEntity<ApiResponse<ObjectResponseDTO>> putObject(
+            @PathVariable String bucketName,
+            @PathVariable String objectName,
+            @RequestHeader(value = HttpHeaders.CONTENT_TYPE, required = false) String contentType,
+            @RequestHeader(value = "x-amz-meta-description", required = false) String description,
+            @RequestHeader(value = "x-amz-meta-tags", required = false) List<String> tags,
+            @RequestHeader(value = "x-amz-meta-access-level", defaultValue = "PRIVATE") AccessLevel accessLevel,
+            HttpServletRequest request,
+            @AuthenticationPrincipal JwtUserPrincipal user
+    ) throws IOException {
+
+        CreateObjectRequestDTO metadata = CreateObjectRequestDTO.builder()
+                .description(description)
+                .tags(tags != null ? tags : new ArrayList<>())
+                .accessLevel(accessLevel)
+                .build();
+
+        log.info(
+                "User [{}] putting object [{}] ({} bytes) into bucket [{}]",
+                user.getUserId(),
+                objectName,
+                request.getContentLengthLong(),
+                bucketName
+        );
+
+        ObjectResponseDTO objectRes = objectService.putObject(
+                bucketName,
+                user.getUserId(),
+                objectName,
+                contentType,
+                request.getContentLengthLong(),
+                request.getInputStream(),
+                metadata
+        );
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().eTag("\"" + objectRes.getChecksum() + "\"");
+        if (objectRes.getVersionId() != null) {
+            response.header(ObjectService.VERSION_ID_HEADER, objectRes.getVersionId());
+        }
+        return response.body(ApiResponse.success(objectRes));
+    }
+
     @PatchMapping("/{bucketName}/{objectName}")
     @Operation(summary = "Update object metadata")
     public ResponseEntity<ApiResponse<Void>> updateObject(
@@ -105,12 +163,18 @@ public class ObjectController {
     @GetMapping("/{bucketName}")
     @Operation(
             summary = "List objects in bucket",
-            description = "Retrieves all objects stored in a bucket owned by the authenticated user.",
+            description = "Lists objects in a bucket owned by the authenticated user, one page at a time. "
+                    + "Keys are returned in byte order; pass nextContinuationToken back as continuation-token "
+                    + "to fetch the following page.",
             responses = {
                     @io.swagger.v3.oas.annotations.responses.ApiResponse(
                             responseCode = "200",
                             description = "Objects retrieved successfully"
                     ),
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                            responseCode = "400",
+                            description = "Invalid max-keys or continuation token"
+                    ),
                     @io.swagger.v3.oas.annotations.responses.ApiResponse(
                             responseCode = "401",
                             description = "Unauthorized"
@@ -121,32 +185,54 @@ public class ObjectController {
                     )
             }
     )
-    public ResponseEntity<ApiResponse<List<ObjectResponseDTO>>> listObjects(
+    public ResponseEntity<ApiResponse<ListObjectsResponseDTO>> listObjects(
             @Parameter(description = "Bucket name", required = true)
             @PathVariable String bucketName,
 
+            @Parameter(description = "Only list keys starting with this prefix")
+            @RequestParam(required = false) String prefix,
+
+            @Parameter(description = "Group keys sharing a prefix up to this delimiter into common prefixes")
+            @RequestParam(required = false) String delimiter,
+
+            @Parameter(description = "Maximum number of keys and common prefixes to return (1-1000)")
+            @RequestParam(name = "max-keys", required = false) Integer maxKeys,
+
+            @Parameter(description = "Token from a previous response to continue listing")
+            @RequestParam(name = "continuation-token", required = false) String continuationToken,
+
+            @Parameter(description = "Start listing after this key (ignored with continuation-token)")
+            @RequestParam(name = "start-after", required = false) String startAfter,
+
             @AuthenticationPrincipal JwtUserPrincipal user
     ) {
 
         log.info(
-                "User [{}] listing objects in bucket [{}]",
+                "User [{}] listing objects in bucket [{}] with prefix [{}]",
                 user.getUserId(),
-                bucketName
+                bucketName,
+                prefix
         );
 
-        List<ObjectResponseDTO> objects = objectService.listObjects(
+        ListObjectsResponseDTO page = objectService.listObjects(
                 bucketName,
-                user.getUserId()
+                user.getUserId(),
+                prefix,
+                delimiter,
+                maxKeys,
+                continuationToken,
+                startAfter
         );
 
         log.info(
-                "Found [{}] objects in bucket [{}] for user [{}]",
-                objects.size(),
+                "Found [{}] entries in bucket [{}] for user [{}], truncated={}",
+                page.getKeyCount(),
                 bucketName,
-                user.getUserId()
+                user.getUserId(),
+                page.isTruncated()
         );
 
-        return ResponseEntity.ok(ApiResponse.success(objects));
+        return ResponseEntity.ok(ApiResponse.success(page));
     }
 
     // ----------------------------------------------------------------------
@@ -258,12 +344,21 @@ public class ObjectController {
     @GetMapping("/{bucketName}/{objectName}/download")
     @Operation(
             summary = "Download object",
-            description = "Downloads an object from a bucket owned by the authenticated user",
+            description = "Downloads an object from a bucket owned by the authenticated user. "
+                    + "Supports Range requests and conditional GET via ETag/Last-Modified",
             responses = {
                     @io.swagger.v3.oas.annotations.responses.ApiResponse(
                             responseCode = "200",
                             description = "File downloaded successfully"
                     ),
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                            responseCode = "206",
+                            description = "Requested byte range(s) of the file"
+                    ),
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                            responseCode = "304",
+                            description = "Not modified since the validator sent by the client"
+                    ),
                     @io.swagger.v3.oas.annotations.responses.ApiResponse(
                             responseCode = "404",
                             description = "Object not found"
@@ -276,9 +371,62 @@ public class ObjectController {
     )
     public ResponseEntity<Resource> downloadObject(
             @PathVariable String bucketName,
-            @PathVariable String objectName
+            @PathVariable String objectName,
+            @Parameter(description = "Download this version instead of the current one")
+            @RequestParam(required = false) String versionId,
+            @RequestHeader(value = HttpHeaders.IF_RANGE, required = false) String ifRange
+    ) throws IOException {
+        return objectService.downloadObject(bucketName, objectName, versionId, ifRange);
+    }
+
+    @RequestMapping(
+            value = "/{bucketName}/{objectName}/download",
+            method = RequestMethod.HEAD
+    )
+    @Operation(
+            summary = "Object download headers",
+            description = "Returns size, content type and validators (ETag, Last-Modified) without the body"
+    )
+    public ResponseEntity<Void> headObject(
+            @PathVariable String bucketName,
+            @PathVariable String objectName,
+            @RequestParam(required = false) String versionId
+    ) throws IOException {
+        return objectService.headObject(bucketName, objectName, versionId);
+    }
+
+    // ----------------------------------------------------------------------
+    // VERSIONS
+    // ----------------------------------------------------------------------
+    @GetMapping("/{bucketName}/{objectName}/versions")
+    @Operation(
+            summary = "List object versions",
+            description = "Stored versions of the object's content, newest first. "
+                    + "Uploading an existing name to a bucket with versioning enabled adds a version."
+    )
+    public ResponseEntity<ApiResponse<List<ObjectPayloadVersionResponseDTO>>> listVersions(
+            @PathVariable String bucketName,
+            @PathVariable String objectName,
+            @AuthenticationPrincipal JwtUserPrincipal user
+    ) {
+        log.info("User [{}] listing versions of object [{}] in bucket [{}]", user.getUserId(), objectName, bucketName);
+        return ResponseEntity.ok(ApiResponse.success(objectService.listVersions(bucketName, objectName)));
+    }
+
+    @PostMapping("/{bucketName}/{objectName}/versions/{versionId}/restore")
+    @Operation(
+            summary = "Restore object version",
+            description = "Makes an earlier version current again without copying its content"
+    )
+    public ResponseEntity<ApiResponse<ObjectResponseDTO>> restoreVersion(
+            @PathVariable String bucketName,
+            @PathVariable String objectName,
+            @PathVariable String versionId,
+            @AuthenticationPrincipal JwtUserPrincipal user
     ) {
-        return objectService.downloadObject(bucketName, objectName);
+        return ResponseEntity.ok(ApiResponse.success(
+                objectService.restoreVersion(bucketName, objectName, versionId, user.getUserId())
+        ));
     }
 
     private CreateObjectRequestDTO parseMetadata(String json) {
@@ -0,0 +1,252 @@
+package com.s3.object.download;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.s3.common.logging.LoggingUtil;
+import com.s3.object.service.ObjectService;
+import com.s3.object.storage.StorageBackend;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.AbstractResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Read cache for the payloads of small, frequently downloaded objects,
+ * enabled with {@code storage.hot-cache.enabled}.
+ * <p>
+ * Entries are keyed by bucket, name and checksum, so a hit is always the
+ * current content of the version the download resolved to; invalidation
+ * only frees memory early. The cache is bounded by total payload bytes
+ * ({@code max-size}) and only objects up to {@code max-object-size} are
+ * considered.
+ * <p>
+ * A miss is served from storage as usual (zero-copy included) and only
+ * counted, in a bounded cache of keys ({@code admission-window} entries).
+ * The payload is read into memory once the key has been requested
+ * {@code admit-after} times, so a scan of cold objects neither allocates
+ * buffers nor reads payloads twice. Caffeine's W-TinyLFU policy then keeps
+ * an entry only if it is requested more often than the entry it would
+ * evict. With {@code off-heap} payloads are kept in direct buffers outside
+ * the Java heap.
+ */
+@Component
+@ConditionalOnProperty(name = "storage.hot-cache.enabled", havingValue = "true")
+public class HotObjectCache {
+
+    private static final Logger log = LoggingUtil.getLogger(HotObjectCache.class);
+
+    private record Key(String bucketName, String fileName, String checksum) {
+    }
+
+    private record Name(String bucketName, String fileName) {
+    }
+
+    private final StorageBackend storageBackend;
+    private final long maxObjectSize;
+    private final boolean offHeap;
+    private final int admitAfter;
+    private final Cache<Key, ByteBuffer> cache;
+
+    /** Misses per key not cached yet; keys only, so it stays small */
+    private final Cache<Key, Integer> recentMisses;
+
+    /** Cached checksums per object name, so overwrites and deletes can drop every entry of a name. */
+    private final Map<Name, Set<Key>> keysByName = new ConcurrentHashMap<>();
+
+    public HotObjectCache(
+            StorageBackend storageBackend,
+            MeterRegistry meterRegistry,
+            @Value("${storage.hot-cache.max-size:256MB}") DataSize maxSize,
+            @Value("${storage.hot-cache.max-object-size:256KB}") DataSize maxObjectSize,
+            @Value("${storage.hot-cache.off-heap:false}") boolean offHeap,
+            @Value("${storage.hot-cache.admit-after:2}") int admitAfter,
+            @Value("${storage.hot-cache.admission-window:100000}") long admissionWindow
+    ) {
+        this.storageBackend = storageBackend;
+        this.maxObjectSize = maxObjectSize.toBytes();
+        this.offHeap = offHeap;
+        this.admitAfter = Math.max(1, admitAfter);
+        this.recentMisses = Caffeine.newBuilder()
+                .maximumSize(admissionWindow)
+                .build();
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxSize.toBytes())
+                .<Key, ByteBuffer>weigher((key, payload) -> payload.capacity())
+                .removalListener((Key key, ByteBuffer payload, RemovalCause cause) -> {
+                    if (cause != RemovalCause.REPLACED) {
+                        forget(key);
+                    }
+                })
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "hot-objects");
+        Gauge.builder("s3.object.hot-cache.bytes", cache, c -> c.policy().eviction()
+                        .map(eviction -> eviction.weightedSize().orElse(0L))
+                        .orElse(0L))
+                .description("Payload bytes held by the hot-object cache")
+                .register(meterRegistry);
+    }
+
+    /**
+     * The payload from memory. Returns {@code null} for objects too large to
+     * cache, on a miss for a key not requested often enough yet, or if the
+     * payload cannot be read; the caller then serves it from storage as
+     * usual. A miss for a key that has been requested {@code admit-after}
+     * times loads the payload.
+     */
+    public Resource get(String bucketName, ObjectService.StoredPayload payload) {
+        if (payload.size() > maxObjectSize) {
+            return null;
+        }
+        Key key = new Key(bucketName, payload.fileName(), payload.checksum());
+        ByteBuffer hit = cache.getIfPresent(key);
+        if (hit != null) {
+            return new BufferResource(hit, payload.fileName());
+        }
+        if (recentMisses.asMap().merge(key, 1, Integer::sum) < admitAfter) {
+            return null;
+        }
+        recentMisses.invalidate(key);
+        try {
+            ByteBuffer cached = cache.get(key, k -> load(k, payload));
+            return cached != null ? new BufferResource(cached, payload.fileName()) : null;
+        } catch (UncheckedIOException e) {
+            log.debug("Not caching [{}/{}]: {}", bucketName, payload.fileName(), e.getMessage());
+            return null;
+        }
+    }
+
+    /** Drops every cached version of the object once the surrounding transaction commits. */
+    public void invalidateAfterCommit(String bucketName, String fileName) {
+        afterCommit(() -> {
+            Set<Key> keys = keysByName.remove(new Name(bucketName, fileName));
+            if (keys != null) {
+                cache.invalidateAll(keys);
+            }
+        });
+    }
+
+    /** Drops every cached object of the bucket once the surrounding transaction commits. */
+    public void invalidateBucketAfterCommit(String bucketName) {
+        afterCommit(() -> cache.asMap().keySet().removeIf(key -> key.bucketName().equals(bucketName)));
+    }
+
+    private ByteBuffer load(Key key, ObjectService.StoredPayload payload) {
+        int size = (int) payload.size();
+        ByteBuffer buffer = offHeap ? ByteBuffer.allocateDirect(size) : ByteBuffer.allocate(size);
+        try (InputStream in = storageBackend.getRange(payload.location(), 0, size)) {
+            byte[] chunk = new byte[Math.min(size, 8192)];
+            int read;
+            while (buffer.hasRemaining() && (read = in.read(chunk, 0, Math.min(chunk.length, buffer.remaining()))) > 0) {
+                buffer.put(chunk, 0, read);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (buffer.hasRemaining()) {
+            // Shorter than recorded: leave it to the storage path to report
+            return null;
+        }
+        keysByName.computeIfAbsent(new Name(key.bucketName(), key.fileName()), name -> ConcurrentHashMap.newKeySet())
+                .add(key);
+        return buffer.flip().asReadOnlyBuffer();
+    }
+
+    private void forget(Key key) {
+        keysByName.computeIfPresent(new Name(key.bucketName(), key.fileName()), (name, keys) -> {
+            keys.remove(key);
+            return keys.isEmpty() ? null : keys;
+        });
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    /** Read-only view of a cached payload; every stream gets its own position. */
+    private static final class BufferResource extends AbstractResource {
+
+        private final ByteBuffer payload;
+        private final String fileName;
+
+        private BufferResource(ByteBuffer payload, String fileName) {
+            this.payload = payload;
+            this.fileName = fileName;
+        }
+
+        @Override
+        public InputStream getInputStream() {
+            ByteBuffer buffer = payload.duplicate();
+            return new InputStream() {
+                @Override
+                public int read() {
+                    return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    if (!buffer.hasRemaining()) {
+                        return -1;
+                    }
+                    int n = Math.min(len, buffer.remaining());
+                    buffer.get(b, off, n);
+                    return n;
+                }
+
+                @Override
+                public long skip(long n) {
+                    int skipped = (int) Math.max(0, Math.min(n, buffer.remaining()));
+                    buffer.position(buffer.position() + skipped);
+                    return skipped;
+                }
+
+                @Override
+                public int available() {
+                    return buffer.remaining();
+                }
+            };
+        }
+
+        @Override
+        public long contentLength() {
+            return payload.remaining();
+        }
+
+        @Override
+        public String getFilename() {
+            return fileName;
+        }
+
+        @Override
+        public String getDescription() {
+            return "cached payload [" + fileName + "]";
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.s3.object.download;
+
+import com.s3.common.logging.LoggingUtil;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes file ranges to the HTTP response without the generic
+ * {@code InputStream} copy loop.
+ * <p>
+ * When the servlet container supports sendfile (Tomcat NIO does by default)
+ * the range is handed to the connector, which streams it from the page cache
+ * straight to the socket once the handler returns. Otherwise the bytes are
+ * pushed with {@link FileChannel#transferTo}. Disabling
+ * {@code storage.download.zero-copy} restores the plain stream copy so the
+ * modes can be compared through the {@code s3.object.download.*} metrics.
+ */
+@Component
+public class ZeroCopyFileTransfer {
+
+    private static final Logger log = LoggingUtil.getLogger(ZeroCopyFileTransfer.class);
+
+    // Tomcat connector contract (org.apache.coyote.Constants)
+    private static final String SENDFILE_SUPPORT_ATTR = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME_ATTR = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START_ATTR = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END_ATTR = "org.apache.tomcat.sendfile.end";
+
+    public static final String MODE_SENDFILE = "sendfile";
+    public static final String MODE_TRANSFER_TO = "transfer-to";
+    public static final String MODE_STREAM = "stream";
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${storage.download.zero-copy:true}")
+    private boolean enabled;
+
+    public ZeroCopyFileTransfer(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Sends {@code count} bytes of {@code file} starting at {@code position}.
+     * The caller must already have set the Content-Length for the range.
+     */
+    public void transfer(Path file, long position, long count, HttpOutputMessage outputMessage)
+            throws IOException {
+
+        if (count <= 0) {
+            return;
+        }
+
+        HttpServletRequest request = currentRequest();
+        if (request != null && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT_ATTR))) {
+            long start = System.nanoTime();
+            request.setAttribute(SENDFILE_FILENAME_ATTR, file.toRealPath().toString());
+            request.setAttribute(SENDFILE_START_ATTR, position);
+            request.setAttribute(SENDFILE_END_ATTR, position + count);
+            // Only the hand-off is timed here; the connector sends the data afterwards
+            record(MODE_SENDFILE, count, System.nanoTime() - start);
+            return;
+        }
+
+        long start = System.nanoTime();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            WritableByteChannel target = Channels.newChannel(outputMessage.getBody());
+            long sent = 0;
+            while (sent < count) {
+                long written = channel.transferTo(position + sent, count - sent, target);
+                if (written <= 0) {
+                    log.warn("File [{}] shorter than expected ({} of {} bytes)", file, sent, count);
+                    break;
+                }
+                sent += written;
+            }
+        }
+        record(MODE_TRANSFER_TO, count, System.nanoTime() - start);
+    }
+
+    public void record(String mode, long bytes, long elapsedNanos) {
+        DistributionSummary.builder("s3.object.download.bytes")
+                .baseUnit("bytes")
+                .tag("mode", mode)
+                .register(meterRegistry)
+                .record(bytes);
+        Timer.builder("s3.object.download.write")
+                .tag("mode", mode)
+                .register(meterRegistry)
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private static HttpServletRequest currentRequest() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes instanceof ServletRequestAttributes servletAttributes) {
+            return servletAttributes.getRequest();
+        }
+        return null;
+    }
+}
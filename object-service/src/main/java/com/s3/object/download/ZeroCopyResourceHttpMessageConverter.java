@@ -0,0 +1,37 @@
+package com.s3.object.download;
+
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.ResourceHttpMessageConverter;
+
+import java.io.IOException;
+
+/**
+ * {@link ResourceHttpMessageConverter} that serves file-backed resources
+ * through {@link ZeroCopyFileTransfer}; other resources use the default copy.
+ */
+public class ZeroCopyResourceHttpMessageConverter extends ResourceHttpMessageConverter {
+
+    private final ZeroCopyFileTransfer fileTransfer;
+
+    public ZeroCopyResourceHttpMessageConverter(ZeroCopyFileTransfer fileTransfer) {
+        this.fileTransfer = fileTransfer;
+    }
+
+    @Override
+    protected void writeContent(Resource resource, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+
+        if (fileTransfer.isEnabled() && resource.isFile()) {
+            fileTransfer.transfer(resource.getFile().toPath(), 0, resource.contentLength(), outputMessage);
+            return;
+        }
+
+        long start = System.nanoTime();
+        super.writeContent(resource, outputMessage);
+        if (resource.isFile()) {
+            fileTransfer.record(ZeroCopyFileTransfer.MODE_STREAM, resource.contentLength(), System.nanoTime() - start);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.s3.object.download;
+
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.ResourceRegion;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.ResourceRegionHttpMessageConverter;
+
+import java.io.IOException;
+
+/**
+ * Single-range (206) counterpart of {@link ZeroCopyResourceHttpMessageConverter}.
+ * Multi-range responses are multipart bodies and keep the default copy loop.
+ */
+public class ZeroCopyResourceRegionHttpMessageConverter extends ResourceRegionHttpMessageConverter {
+
+    private final ZeroCopyFileTransfer fileTransfer;
+
+    public ZeroCopyResourceRegionHttpMessageConverter(ZeroCopyFileTransfer fileTransfer) {
+        this.fileTransfer = fileTransfer;
+    }
+
+    @Override
+    protected void writeResourceRegion(ResourceRegion region, HttpOutputMessage outputMessage)
+            throws IOException {
+
+        Resource resource = region.getResource();
+        if (!fileTransfer.isEnabled() || !resource.isFile()) {
+            long start = System.nanoTime();
+            super.writeResourceRegion(region, outputMessage);
+            if (resource.isFile()) {
+                fileTransfer.record(ZeroCopyFileTransfer.MODE_STREAM, region.getCount(), System.nanoTime() - start);
+            }
+            return;
+        }
+
+        long start = region.getPosition();
+        long end = start + region.getCount() - 1;
+        long resourceLength = resource.contentLength();
+        end = Math.min(end, resourceLength - 1);
+        long rangeLength = end - start + 1;
+
+        HttpHeaders headers = outputMessage.getHeaders();
+        headers.add(HttpHeaders.CONTENT_RANGE, "bytes " + start + '-' + end + '/' + resourceLength);
+        headers.setContentLength(rangeLength);
+
+        fileTransfer.transfer(resource.getFile().toPath(), start, rangeLength, outputMessage);
+    }
+}
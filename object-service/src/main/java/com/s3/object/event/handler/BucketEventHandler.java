@@ -5,8 +5,10 @@ import com.s3.common.events.payload.bucket.BucketDeletedPayload;
 import com.s3.common.events.payload.bucket.BucketUpdatedPayload;
 
 import com.s3.common.logging.LoggingUtil;
+import com.s3.object.client.BucketServiceClient;
 import com.s3.object.event.idempotency.ObjectEventIdempotencyService;
 
+import com.s3.object.service.BucketDeletionService;
 import com.s3.object.service.ObjectService;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
@@ -20,7 +22,9 @@ public class BucketEventHandler {
             LoggingUtil.getLogger(BucketEventHandler.class);
 
     private final ObjectService objectService;
+    private final BucketDeletionService bucketDeletionService;
     private final ObjectEventIdempotencyService idempotencyService;
+    private final BucketServiceClient bucketServiceClient;
 
     public void handle(S3Event<?> event) {
 
@@ -59,6 +63,11 @@ public class BucketEventHandler {
     private void handleBucketUpdated(S3Event<BucketUpdatedPayload> event) {
         BucketUpdatedPayload payload = event.getPayload();
 
+        bucketServiceClient.updateVersioning(
+                payload.getBucketName(),
+                payload.isVersioningEnabled()
+        );
+
         objectService.updateObjectsByBucket(
                 payload.getBucketName(),
                 event.getOwnerId(),
@@ -71,9 +80,14 @@ public class BucketEventHandler {
     ) {
         BucketDeletedPayload payload = event.getPayload();
 
-        objectService.deleteObjectsByBucket(
+        bucketServiceClient.evict(payload.getBucketName());
+
+        // Objects are removed in the background so the consumer is not blocked
+        bucketDeletionService.enqueue(
+                event.getEventId(),
                 payload.getBucketName(),
-                event.getOwnerId()
+                event.getOwnerId(),
+                event.getOccurredAt()
         );
     }
 }
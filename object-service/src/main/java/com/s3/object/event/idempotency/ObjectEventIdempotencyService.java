@@ -1,35 +1,20 @@
 package com.s3.object.event.idempotency;
 
-import com.s3.common.events.enums.S3EventSource;
-import lombok.RequiredArgsConstructor;
+import com.s3.common.events.idempotency.AbstractEventIdempotencyService;
+import com.s3.common.events.idempotency.ProcessedEventRepository;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
+/** Processed-event bookkeeping for the bucket event consumer. */
 @Service
-@RequiredArgsConstructor
-public class ObjectEventIdempotencyService {
+public class ObjectEventIdempotencyService extends AbstractEventIdempotencyService {
 
-    private final ObjectProcessedEventRepository repository;
-
-    @Transactional(readOnly = true)
-    public boolean isAlreadyProcessed(String eventId) {
-        return repository.existsById(eventId);
-    }
-
-    @Transactional
-    public void markProcessed(
-            String eventId,
-            String eventType,
-            S3EventSource sourceService
+    public ObjectEventIdempotencyService(
+            ProcessedEventRepository repository,
+            @Value("${s3.events.idempotency.recent-capacity:10000}") int recentCapacity,
+            @Value("${s3.events.idempotency.false-positive-rate:0.01}") double falsePositiveRate,
+            @Value("${s3.events.idempotency.retention-hours:168}") long retentionHours
     ) {
-        repository.save(
-                new ObjectProcessedEventEntity(
-                        eventId,
-                        eventType.toString(),
-                        sourceService.toString(),
-                        null
-                )
-        );
+        super(repository, recentCapacity, falsePositiveRate, retentionHours);
     }
 }
-
@@ -1,36 +0,0 @@
-package com.s3.object.event.idempotency;
-
-import jakarta.persistence.Column;
-import jakarta.persistence.Entity;
-import jakarta.persistence.Id;
-import jakarta.persistence.Table;
-import lombok.AllArgsConstructor;
-import lombok.Getter;
-import lombok.NoArgsConstructor;
-import lombok.Setter;
-import org.hibernate.annotations.CreationTimestamp;
-
-import java.time.Instant;
-
-@Entity
-@Table(name = "processed_events")
-@Getter
-@Setter
-@NoArgsConstructor
-@AllArgsConstructor
-public class ObjectProcessedEventEntity {
-
-    @Id
-    @Column(name = "event_id", nullable = false)
-    private String eventId;
-
-    @Column(name = "event_type", nullable = false)
-    private String eventType;
-
-    @Column(name = "source_service", nullable = false)
-    private String sourceService;
-
-    @CreationTimestamp
-    @Column(name = "processedAt", updatable = false, nullable = false, columnDefinition = "TIMESTAMP DEFAULT CURRENT_TIMESTAMP")
-    private Instant processedAt;
-}
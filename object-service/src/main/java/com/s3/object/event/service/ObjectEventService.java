@@ -8,11 +8,16 @@ import com.s3.common.events.model.S3Event;
 import com.s3.common.events.payload.object.ObjectCreatedPayload;
 import com.s3.common.events.payload.object.ObjectDeletedPayload;
 import com.s3.common.events.payload.object.ObjectUpdatedPayload;
+import com.s3.common.events.payload.object.ObjectsDeletedPayload;
+import com.s3.common.events.payload.object.ObjectsVersioningUpdatedPayload;
 import com.s3.common.events.service.EventProducer;
+import com.s3.object.download.HotObjectCache;
 import com.s3.object.model.ObjectEntity;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
+import java.util.List;
 import java.util.UUID;
 
 @Service
@@ -21,9 +26,11 @@ public class ObjectEventService {
     private static final String OBJECT_TOPIC_KEY = "object";
 
     private final EventProducer eventProducer;
+    private final ObjectProvider<HotObjectCache> hotObjectCache;
 
-    public ObjectEventService(EventProducer eventProducer) {
+    public ObjectEventService(EventProducer eventProducer, ObjectProvider<HotObjectCache> hotObjectCache) {
         this.eventProducer = eventProducer;
+        this.hotObjectCache = hotObjectCache;
     }
 
     // ------------------------------------------------------------------
@@ -44,6 +51,7 @@ public class ObjectEventService {
                         .tags(request.getTags())
                         .accessLevel(request.getAccessLevel().toString())
                         .versionEnabled(request.getVersionEnabled())
+                        .versionId(entity.getVersionId())
                         .build();
 
         S3Event<ObjectCreatedPayload> event =
@@ -72,16 +80,38 @@ public class ObjectEventService {
             UpdateObjectRequestDTO request, boolean versionEnabled
     ) {
 
-        ObjectUpdatedPayload payload =
-                ObjectUpdatedPayload.builder()
-                        .objectId(entity.getId())
-                        .bucketName(entity.getBucketName())
-                        .filename(entity.getFileName())
-                        .description(request.getDescription())
-                        .tags(request.getTags())
-                        .accessLevel(request.getAccessLevel())
-                        .versionEnabled(versionEnabled)
-                        .build();
+        publishObjectUpdatedEvent(entity, ownerId, ObjectUpdatedPayload.builder()
+                .objectId(entity.getId())
+                .bucketName(entity.getBucketName())
+                .filename(entity.getFileName())
+                .description(request.getDescription())
+                .tags(request.getTags())
+                .accessLevel(request.getAccessLevel())
+                .versionEnabled(versionEnabled)
+                .versionId(entity.getVersionId())
+                .build());
+    }
+
+    /**
+     * Announces that an earlier payload version is current again, so
+     * metadata-service activates the metadata version recorded for it.
+     */
+    public void publishObjectRestoredEvent(ObjectEntity entity, String ownerId) {
+        publishObjectUpdatedEvent(entity, ownerId, ObjectUpdatedPayload.builder()
+                .objectId(entity.getId())
+                .bucketName(entity.getBucketName())
+                .filename(entity.getFileName())
+                .versionEnabled(true)
+                .versionId(entity.getVersionId())
+                .restored(true)
+                .build());
+    }
+
+    private void publishObjectUpdatedEvent(ObjectEntity entity, String ownerId, ObjectUpdatedPayload payload) {
+
+        // Overwrites and restores change the payload; drop cached copies of the old one
+        hotObjectCache.ifAvailable(cache ->
+                cache.invalidateAfterCommit(entity.getBucketName(), entity.getFileName()));
 
         S3Event<ObjectUpdatedPayload> event =
                 S3Event.<ObjectUpdatedPayload>builder()
@@ -100,6 +130,38 @@ public class ObjectEventService {
         );
     }
 
+    // ------------------------------------------------------------------
+    // BUCKET-WIDE VERSIONING EVENT
+    // ------------------------------------------------------------------
+    public void publishObjectsVersioningUpdatedEvent(
+            String bucketName,
+            String ownerId,
+            boolean versioningEnabled
+    ) {
+
+        ObjectsVersioningUpdatedPayload payload =
+                ObjectsVersioningUpdatedPayload.builder()
+                        .bucketName(bucketName)
+                        .versioningEnabled(versioningEnabled)
+                        .build();
+
+        S3Event<ObjectsVersioningUpdatedPayload> event =
+                S3Event.<ObjectsVersioningUpdatedPayload>builder()
+                        .eventId(UUID.randomUUID().toString())
+                        .eventType(S3EventType.OBJECTS_VERSIONING_UPDATED)
+                        .sourceService(S3EventSource.OBJECT_SERVICE)
+                        .ownerId(ownerId)
+                        .occurredAt(Instant.now())
+                        .payload(payload)
+                        .build();
+
+        eventProducer.publish(
+                OBJECT_TOPIC_KEY,
+                bucketName,   // Kafka key: flips of one bucket stay ordered
+                event
+        );
+    }
+
     // ------------------------------------------------------------------
     // DELETE EVENT
     // ------------------------------------------------------------------
@@ -115,6 +177,9 @@ public class ObjectEventService {
                         .filename(entity.getFileName())
                         .build();
 
+        hotObjectCache.ifAvailable(cache ->
+                cache.invalidateAfterCommit(entity.getBucketName(), entity.getFileName()));
+
         S3Event<ObjectDeletedPayload> event =
                 S3Event.<ObjectDeletedPayload>builder()
                         .eventId(UUID.randomUUID().toString())
@@ -131,4 +196,38 @@ public class ObjectEventService {
                 event
         );
     }
-}
\ No newline at end of file
+
+    // ------------------------------------------------------------------
+    // BUCKET DELETION CHUNK EVENT
+    // ------------------------------------------------------------------
+    public void publishObjectsDeletedEvent(
+            String bucketName,
+            String ownerId,
+            List<String> objectIds
+    ) {
+
+        ObjectsDeletedPayload payload =
+                ObjectsDeletedPayload.builder()
+                        .bucketName(bucketName)
+                        .objectIds(objectIds)
+                        .build();
+
+        hotObjectCache.ifAvailable(cache -> cache.invalidateBucketAfterCommit(bucketName));
+
+        S3Event<ObjectsDeletedPayload> event =
+                S3Event.<ObjectsDeletedPayload>builder()
+                        .eventId(UUID.randomUUID().toString())
+                        .eventType(S3EventType.OBJECTS_DELETED)
+                        .sourceService(S3EventSource.OBJECT_SERVICE)
+                        .ownerId(ownerId)
+                        .occurredAt(Instant.now())
+                        .payload(payload)
+                        .build();
+
+        eventProducer.publish(
+                OBJECT_TOPIC_KEY,
+                bucketName,   // Kafka key
+                event
+        );
+    }
+}
@@ -0,0 +1,35 @@
+package com.s3.object.index;
+
+import com.s3.object.model.ObjectEntity;
+
+import java.time.Instant;
+
+/** The fields of an object row the read paths need; see {@link ObjectLocationIndex}. */
+public record IndexedObject(
+        String id,
+        String bucketName,
+        String fileName,
+        long size,
+        String checksum,
+        String contentType,
+        String storagePath,
+        String versionId,
+        Instant uploadedAt,
+        Instant lastModified
+) {
+
+    public static IndexedObject of(ObjectEntity entity) {
+        return new IndexedObject(
+                entity.getId(),
+                entity.getBucketName(),
+                entity.getFileName(),
+                entity.getSize(),
+                entity.getChecksum(),
+                entity.getContentType(),
+                entity.getStoragePath(),
+                entity.getVersionId(),
+                entity.getUploadedAt(),
+                entity.getLastModified()
+        );
+    }
+}
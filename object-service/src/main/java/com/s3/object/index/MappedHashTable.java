@@ -0,0 +1,303 @@
+package com.s3.object.index;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Open-addressing hash table from byte keys to byte values, kept in
+ * memory-mapped files instead of the Java heap.
+ * <p>
+ * Records ({@code [key length][key][value length][value]}) are appended to
+ * fixed-size segment files; a separate slot file holds, per slot, the key's
+ * 64-bit hash and the record's address. Collisions are resolved by linear
+ * probing, removals leave tombstones, and the slot file is rehashed into a
+ * larger one past {@link #MAX_LOAD}. Replaced and removed records stay in
+ * their segment as dead bytes until the table is {@link #compactInto
+ * compacted}.
+ * <p>
+ * Not thread-safe; {@link ObjectLocationIndex} guards it with a
+ * read/write lock. Files are deleted on {@link #close}.
+ */
+final class MappedHashTable {
+
+    private static final int SLOT_BYTES = 16;
+    private static final int SEGMENT_BYTES = 64 << 20;
+    // 1 GB slot file; FileChannel.map takes at most Integer.MAX_VALUE bytes
+    private static final int MAX_CAPACITY = 1 << 26;
+    private static final double MAX_LOAD = 0.7;
+
+    // Slot address values; record addresses are stored + 1
+    private static final long EMPTY = 0;
+    private static final long DELETED = -1;
+
+    private final Path directory;
+    private final String name;
+    private final List<Path> files = new ArrayList<>();
+
+    private Path slotFile;
+    private MappedByteBuffer slots;
+    private int capacity;
+    private int occupied;   // live + deleted slots
+    private int size;
+
+    private final List<MappedByteBuffer> segments = new ArrayList<>();
+    private int tail;       // write position in the last segment
+    private long liveBytes;
+    private long deadBytes;
+
+    MappedHashTable(Path directory, String name, int capacity) {
+        this.directory = directory;
+        this.name = name;
+        this.capacity = Integer.highestOneBit(Math.min(Math.max(capacity, 16), MAX_CAPACITY) - 1) << 1;
+        this.slotFile = file("slots-" + this.capacity);
+        this.slots = map(slotFile, (long) this.capacity * SLOT_BYTES);
+    }
+
+    int size() {
+        return size;
+    }
+
+    long liveBytes() {
+        return liveBytes;
+    }
+
+    long deadBytes() {
+        return deadBytes;
+    }
+
+    /** @return the value stored under {@code key}, or {@code null} */
+    ByteBuffer get(byte[] key) {
+        int slot = find(key, hash(key));
+        return slot < 0 ? null : value(slots.getLong(slot * SLOT_BYTES + 8) - 1);
+    }
+
+    void put(byte[] key, byte[] value) {
+        long hash = hash(key);
+        long address = append(key, value);
+        int recordBytes = recordBytes(key.length, value.length);
+        liveBytes += recordBytes;
+
+        int slot = find(key, hash);
+        if (slot >= 0) {
+            retire(slots.getLong(slot * SLOT_BYTES + 8) - 1);
+            slots.putLong(slot * SLOT_BYTES + 8, address + 1);
+            return;
+        }
+
+        int free = probeFree(slots, capacity, hash);
+        if (slots.getLong(free * SLOT_BYTES + 8) == EMPTY) {
+            occupied++;
+        }
+        slots.putLong(free * SLOT_BYTES, hash);
+        slots.putLong(free * SLOT_BYTES + 8, address + 1);
+        size++;
+
+        if (occupied > capacity * MAX_LOAD) {
+            rehash(size * 2 > capacity * MAX_LOAD ? capacity * 2 : capacity);
+        }
+    }
+
+    /** @return {@code true} if the key was present */
+    boolean remove(byte[] key) {
+        int slot = find(key, hash(key));
+        if (slot < 0) {
+            return false;
+        }
+        retire(slots.getLong(slot * SLOT_BYTES + 8) - 1);
+        slots.putLong(slot * SLOT_BYTES + 8, DELETED);
+        size--;
+        return true;
+    }
+
+    /** Copies the live records into {@code target}, dropping dead ones. */
+    void compactInto(MappedHashTable target) {
+        for (int slot = 0; slot < capacity; slot++) {
+            long address = slots.getLong(slot * SLOT_BYTES + 8);
+            if (address != EMPTY && address != DELETED) {
+                target.put(key(address - 1), bytes(value(address - 1)));
+            }
+        }
+    }
+
+    void close() {
+        slots = null;
+        segments.clear();
+        List.copyOf(files).forEach(this::delete);
+    }
+
+    // ----------------------------------------------------------------------
+    // SLOTS
+    // ----------------------------------------------------------------------
+
+    private int find(byte[] key, long hash) {
+        int mask = capacity - 1;
+        for (int slot = (int) hash & mask; ; slot = (slot + 1) & mask) {
+            long address = slots.getLong(slot * SLOT_BYTES + 8);
+            if (address == EMPTY) {
+                return -1;
+            }
+            if (address != DELETED
+                    && slots.getLong(slot * SLOT_BYTES) == hash
+                    && keyEquals(address - 1, key)) {
+                return slot;
+            }
+        }
+    }
+
+    /** First deleted or empty slot on the key's probe sequence. */
+    private static int probeFree(MappedByteBuffer slots, int capacity, long hash) {
+        int mask = capacity - 1;
+        for (int slot = (int) hash & mask; ; slot = (slot + 1) & mask) {
+            long address = slots.getLong(slot * SLOT_BYTES + 8);
+            if (address == EMPTY || address == DELETED) {
+                return slot;
+            }
+        }
+    }
+
+    private void rehash(int newCapacity) {
+        if (newCapacity > MAX_CAPACITY) {
+            throw new IllegalStateException("Location index is full: " + size + " entries");
+        }
+        Path rehashedFile = file("slots-" + newCapacity + "-" + files.size());
+        MappedByteBuffer rehashed = map(rehashedFile, (long) newCapacity * SLOT_BYTES);
+        for (int slot = 0; slot < capacity; slot++) {
+            long address = slots.getLong(slot * SLOT_BYTES + 8);
+            if (address != EMPTY && address != DELETED) {
+                long hash = slots.getLong(slot * SLOT_BYTES);
+                int target = probeFree(rehashed, newCapacity, hash);
+                rehashed.putLong(target * SLOT_BYTES, hash);
+                rehashed.putLong(target * SLOT_BYTES + 8, address);
+            }
+        }
+        delete(slotFile);
+        slotFile = rehashedFile;
+        slots = rehashed;
+        capacity = newCapacity;
+        occupied = size;
+    }
+
+    // ----------------------------------------------------------------------
+    // RECORDS
+    // ----------------------------------------------------------------------
+
+    private long append(byte[] key, byte[] value) {
+        int length = recordBytes(key.length, value.length);
+        if (length > SEGMENT_BYTES) {
+            throw new IllegalArgumentException("Record too large: " + length + " bytes");
+        }
+        if (segments.isEmpty() || tail + length > SEGMENT_BYTES) {
+            segments.add(map(file("records-" + segments.size()), SEGMENT_BYTES));
+            tail = 0;
+        }
+        MappedByteBuffer segment = segments.get(segments.size() - 1);
+        segment.putInt(tail, key.length);
+        segment.put(tail + 4, key);
+        segment.putInt(tail + 4 + key.length, value.length);
+        segment.put(tail + 8 + key.length, value);
+
+        long address = (long) (segments.size() - 1) * SEGMENT_BYTES + tail;
+        tail += length;
+        return address;
+    }
+
+    private void retire(long address) {
+        MappedByteBuffer segment = segment(address);
+        int offset = offset(address);
+        int keyLength = segment.getInt(offset);
+        int recordBytes = recordBytes(keyLength, segment.getInt(offset + 4 + keyLength));
+        liveBytes -= recordBytes;
+        deadBytes += recordBytes;
+    }
+
+    private boolean keyEquals(long address, byte[] key) {
+        MappedByteBuffer segment = segment(address);
+        int offset = offset(address);
+        return segment.getInt(offset) == key.length
+                && segment.slice(offset + 4, key.length).mismatch(ByteBuffer.wrap(key)) == -1;
+    }
+
+    private byte[] key(long address) {
+        MappedByteBuffer segment = segment(address);
+        int offset = offset(address);
+        byte[] key = new byte[segment.getInt(offset)];
+        segment.get(offset + 4, key);
+        return key;
+    }
+
+    private ByteBuffer value(long address) {
+        MappedByteBuffer segment = segment(address);
+        int offset = offset(address);
+        int keyLength = segment.getInt(offset);
+        int valueLength = segment.getInt(offset + 4 + keyLength);
+        return segment.slice(offset + 8 + keyLength, valueLength);
+    }
+
+    private MappedByteBuffer segment(long address) {
+        return segments.get((int) (address / SEGMENT_BYTES));
+    }
+
+    private static int offset(long address) {
+        return (int) (address % SEGMENT_BYTES);
+    }
+
+    private static int recordBytes(int keyLength, int valueLength) {
+        return 8 + keyLength + valueLength;
+    }
+
+    private static byte[] bytes(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        return bytes;
+    }
+
+    /** 64-bit FNV-1a, finished with a murmur mix so low bits spread well. */
+    private static long hash(byte[] key) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : key) {
+            h ^= b;
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    private Path file(String suffix) {
+        return directory.resolve(name + "-" + suffix + ".idx");
+    }
+
+    private MappedByteBuffer map(Path file, long bytes) {
+        try (FileChannel channel = FileChannel.open(
+                file,
+                StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ,
+                StandardOpenOption.WRITE
+        )) {
+            files.add(file);
+            // Grows the (sparse) file; the mapping outlives the channel
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /** Mappings stay valid until collected; the file just loses its name. */
+    private void delete(Path file) {
+        try {
+            Files.deleteIfExists(file);
+            files.remove(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,317 @@
+package com.s3.object.index;
+
+import com.s3.common.logging.LoggingUtil;
+import com.s3.object.model.ObjectEntity;
+import com.s3.object.repository.ObjectRepository;
+import com.s3.object.service.ObjectService;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * Node-local index from (bucket, key) to the fields downloads and metadata
+ * GETs need, enabled with {@code storage.location-index.enabled}, so those
+ * read paths skip the {@code objects} lookup.
+ * <p>
+ * Entries live in a {@link MappedHashTable} under
+ * {@code storage.location-index.directory}, off the Java heap and paged in
+ * by the OS. The index is rebuilt from the {@code objects} table at
+ * startup and kept current by this node's write paths, which apply their
+ * changes after commit. Changes made while a rebuild is running are
+ * re-read once it finishes. Until then, and for keys it does not hold,
+ * callers query the database.
+ * <p>
+ * Writes made by other replicas are not seen, so the index should only be
+ * enabled where one node handles the writes for the buckets it serves.
+ */
+@Component
+@ConditionalOnProperty(name = "storage.location-index.enabled", havingValue = "true")
+public class ObjectLocationIndex {
+
+    private static final Logger log = LoggingUtil.getLogger(ObjectLocationIndex.class);
+
+    private static final String FILE_PREFIX = "locations-";
+
+    private final ObjectRepository repository;
+    private final TransactionTemplate readOnly;
+    private final Path directory;
+    private final int initialCapacity;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private MappedHashTable table;
+    private final AtomicInteger generation = new AtomicInteger();
+    private volatile boolean ready;
+
+    /** Objects changed while a rebuild is running; null when none is */
+    private Set<String> changedDuringRebuild;
+
+    public ObjectLocationIndex(
+            ObjectRepository repository,
+            PlatformTransactionManager transactionManager,
+            @Value("${storage.location-index.directory:${storage.location}/.index}") String directory,
+            @Value("${storage.location-index.initial-capacity:1048576}") int initialCapacity
+    ) throws IOException {
+        this.repository = repository;
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+        this.directory = Paths.get(directory);
+        this.initialCapacity = initialCapacity;
+
+        // Leftovers of an earlier run; the index is always rebuilt
+        Files.createDirectories(this.directory);
+        try (DirectoryStream<Path> stale = Files.newDirectoryStream(this.directory, FILE_PREFIX + "*")) {
+            for (Path file : stale) {
+                Files.deleteIfExists(file);
+            }
+        }
+        this.table = newTable(16);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    // ----------------------------------------------------------------------
+    // QUERY
+    // ----------------------------------------------------------------------
+
+    /** The indexed object, or empty if the index is not ready or does not hold it. */
+    public Optional<IndexedObject> find(String bucketName, String fileName) {
+        if (!ready) {
+            return Optional.empty();
+        }
+        lock.readLock().lock();
+        try {
+            ByteBuffer value = table.get(key(bucketName, fileName));
+            return value == null ? Optional.empty() : Optional.of(decode(bucketName, fileName, value));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ----------------------------------------------------------------------
+    // MAINTENANCE
+    // ----------------------------------------------------------------------
+
+    /** Indexes the object as it stands when the surrounding transaction commits. */
+    public void putAfterCommit(ObjectEntity entity) {
+        afterCommit(() -> put(IndexedObject.of(entity)));
+    }
+
+    /** Drops the objects once the surrounding transaction commits. */
+    public void removeAfterCommit(String bucketName, Collection<String> fileNames) {
+        List<String> names = List.copyOf(fileNames);
+        afterCommit(() -> names.forEach(fileName -> remove(bucketName, fileName)));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            changedDuringRebuild = new HashSet<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        long started = System.nanoTime();
+        MappedHashTable rebuilt = readOnly.execute(status -> load());
+
+        Set<String> changed;
+        lock.writeLock().lock();
+        try {
+            table.close();
+            table = rebuilt;
+            changed = changedDuringRebuild;
+            changedDuringRebuild = null;
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        // Re-read objects whose changes the snapshot may have missed
+        if (!changed.isEmpty()) {
+            readOnly.executeWithoutResult(status -> changed.forEach(objectKey -> {
+                int slash = objectKey.indexOf('/');
+                String bucketName = objectKey.substring(0, slash);
+                String fileName = objectKey.substring(slash + 1);
+                repository.findByBucketNameAndFileName(bucketName, fileName).ifPresentOrElse(
+                        entity -> put(IndexedObject.of(entity)),
+                        () -> remove(bucketName, fileName)
+                );
+            }));
+        }
+
+        log.info(
+                "Object location index built: {} objects in {} ms",
+                rebuilt.size(), (System.nanoTime() - started) / 1_000_000
+        );
+    }
+
+    @PreDestroy
+    void close() {
+        lock.writeLock().lock();
+        try {
+            ready = false;
+            table.close();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private MappedHashTable load() {
+        MappedHashTable loaded = newTable(initialCapacity);
+        try (Stream<IndexedObject> objects = repository.streamIndexedObjects()) {
+            objects.forEach(object -> loaded.put(key(object.bucketName(), object.fileName()), encode(object)));
+        }
+        return loaded;
+    }
+
+    private void put(IndexedObject object) {
+        lock.writeLock().lock();
+        try {
+            if (changedDuringRebuild != null) {
+                changedDuringRebuild.add(ObjectService.objectKey(object.bucketName(), object.fileName()));
+            }
+            table.put(key(object.bucketName(), object.fileName()), encode(object));
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void remove(String bucketName, String fileName) {
+        lock.writeLock().lock();
+        try {
+            if (changedDuringRebuild != null) {
+                changedDuringRebuild.add(ObjectService.objectKey(bucketName, fileName));
+            }
+            table.remove(key(bucketName, fileName));
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Rewrites the table once replaced and removed records outweigh live ones. */
+    private void compactIfNeeded() {
+        if (table.deadBytes() < 64L << 20 || table.deadBytes() < table.liveBytes()) {
+            return;
+        }
+        long started = System.nanoTime();
+        MappedHashTable compacted = newTable(table.size() * 2);
+        table.compactInto(compacted);
+        table.close();
+        table = compacted;
+        log.info(
+                "Object location index compacted: {} objects in {} ms",
+                compacted.size(), (System.nanoTime() - started) / 1_000_000
+        );
+    }
+
+    private MappedHashTable newTable(int capacity) {
+        return new MappedHashTable(directory, FILE_PREFIX + generation.getAndIncrement(), capacity);
+    }
+
+    // ----------------------------------------------------------------------
+    // ENCODING
+    // ----------------------------------------------------------------------
+
+    private static byte[] key(String bucketName, String fileName) {
+        return ObjectService.objectKey(bucketName, fileName).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] encode(IndexedObject object) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(160);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeUTF(object.id());
+            out.writeLong(object.size());
+            out.writeUTF(object.checksum());
+            out.writeUTF(object.contentType());
+            out.writeUTF(object.storagePath());
+            out.writeBoolean(object.versionId() != null);
+            if (object.versionId() != null) {
+                out.writeUTF(object.versionId());
+            }
+            writeInstant(out, object.uploadedAt());
+            writeInstant(out, object.lastModified());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static IndexedObject decode(String bucketName, String fileName, ByteBuffer value) {
+        byte[] bytes = new byte[value.remaining()];
+        value.get(bytes);
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes))) {
+            String id = in.readUTF();
+            long size = in.readLong();
+            String checksum = in.readUTF();
+            String contentType = in.readUTF();
+            String storagePath = in.readUTF();
+            String versionId = in.readBoolean() ? in.readUTF() : null;
+            return new IndexedObject(
+                    id, bucketName, fileName, size, checksum, contentType,
+                    storagePath, versionId, readInstant(in), readInstant(in)
+            );
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void writeInstant(DataOutputStream out, Instant instant) throws IOException {
+        out.writeBoolean(instant != null);
+        if (instant != null) {
+            out.writeLong(instant.getEpochSecond());
+            out.writeInt(instant.getNano());
+        }
+    }
+
+    private static Instant readInstant(DataInputStream in) throws IOException {
+        return in.readBoolean() ? Instant.ofEpochSecond(in.readLong(), in.readInt()) : null;
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
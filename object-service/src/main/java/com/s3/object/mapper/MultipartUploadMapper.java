@@ -0,0 +1,21 @@
+package com.s3.object.mapper;
+
+import com.s3.common.dto.response.MultipartPartResponseDTO;
+import com.s3.common.dto.response.MultipartUploadResponseDTO;
+import com.s3.object.model.MultipartPartEntity;
+import com.s3.object.model.MultipartUploadEntity;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+import java.util.List;
+
+@Mapper(componentModel = "spring")
+public interface MultipartUploadMapper {
+
+    @Mapping(target = "uploadId", source = "id")
+    MultipartUploadResponseDTO toDTO(MultipartUploadEntity entity);
+
+    MultipartPartResponseDTO toPartDTO(MultipartPartEntity entity);
+
+    List<MultipartPartResponseDTO> toPartDTOList(List<MultipartPartEntity> entities);
+}
@@ -1,14 +1,20 @@
 package com.s3.object.mapper;
 
 import com.s3.common.dto.response.ObjectResponseDTO;
+import com.s3.object.index.IndexedObject;
 import com.s3.object.model.ObjectEntity;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 
 
 @Mapper(componentModel = "spring", builder = @org.mapstruct.Builder(disableBuilder = false))
 public interface ObjectMapper {
 
+    @Mapping(target = "latestVersion", ignore = true)
+    @Mapping(target = "lastModified", ignore = true)
     ObjectEntity toEntity(ObjectResponseDTO dto);
 
     ObjectResponseDTO toDTO(ObjectEntity entity);
+
+    ObjectResponseDTO toDTO(IndexedObject object);
 }
@@ -0,0 +1,37 @@
+package com.s3.object.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.Instant;
+
+/**
+ * A payload stored once under the content-addressed layout, shared by every
+ * object with the same SHA-256.
+ */
+@Entity
+@Table(name = "blobs")
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class BlobEntity {
+
+    /** Hex-encoded SHA-256 of the payload. */
+    @Id
+    private String hash;
+
+    @Column(nullable = false)
+    private long size;
+
+    @Column(name = "ref_count", nullable = false)
+    private int refCount;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private Instant createdAt;
+}
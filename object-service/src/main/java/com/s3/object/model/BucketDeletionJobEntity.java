@@ -0,0 +1,74 @@
+package com.s3.object.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.Instant;
+
+/**
+ * Background removal of a deleted bucket's objects. {@code lastKey} is the
+ * keyset cursor: the job resumes after it following a restart or failure.
+ * Only objects of the job's owner last written by {@code bucketDeletedAt}
+ * are removed, so a bucket re-created under the same name keeps its own.
+ */
+@Entity
+@Table(name = "bucket_deletion_jobs")
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class BucketDeletionJobEntity {
+
+    public enum Status {
+        PENDING,
+        RUNNING,
+        COMPLETED
+    }
+
+    /** Id of the BUCKET_DELETED event that started the job */
+    @Id
+    private String id;
+
+    @Column(name = "bucket_name", nullable = false)
+    private String bucketName;
+
+    @Column(name = "owner_id", nullable = false)
+    private String ownerId;
+
+    /** When the bucket was deleted; objects written later belong to a re-created bucket */
+    @Column(name = "bucket_deleted_at", nullable = false, updatable = false)
+    private Instant bucketDeletedAt;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Status status;
+
+    @Column(name = "last_key", nullable = false, length = 1024)
+    @Builder.Default
+    private String lastKey = "";
+
+    @Column(name = "objects_deleted", nullable = false)
+    private long objectsDeleted;
+
+    @Column(name = "files_failed", nullable = false)
+    private long filesFailed;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private Instant createdAt;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+
+    @Column(name = "completed_at")
+    private Instant completedAt;
+}
@@ -0,0 +1,41 @@
+package com.s3.object.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.Instant;
+
+@Entity
+@Table(
+        name = "multipart_parts",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"upload_id", "part_number"})
+)
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class MultipartPartEntity {
+
+    @Id
+    private String id;
+
+    @Column(name = "upload_id", nullable = false)
+    private String uploadId;
+
+    @Column(name = "part_number", nullable = false)
+    private int partNumber;
+
+    @Column(nullable = false)
+    private long size;
+
+    @Column(nullable = false)
+    private String checksum;
+
+    @UpdateTimestamp
+    @Column(name = "uploaded_at", nullable = false)
+    private Instant uploadedAt;
+}
@@ -0,0 +1,57 @@
+package com.s3.object.model;
+
+import com.s3.common.enums.AccessLevel;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+@Entity
+@Table(name = "multipart_uploads")
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class MultipartUploadEntity {
+
+    @Id
+    private String id;
+
+    @Column(name = "owner_id", nullable = false)
+    private String ownerId;
+
+    @Column(name = "bucket_name", nullable = false)
+    private String bucketName;
+
+    @Column(name = "file_name", nullable = false)
+    private String fileName;
+
+    @Column(name = "content_type", nullable = false)
+    private String contentType;
+
+    @Column(name = "description")
+    private String description;
+
+    @ElementCollection(fetch = FetchType.EAGER)
+    @CollectionTable(
+            name = "multipart_upload_tags",
+            joinColumns = @JoinColumn(name = "upload_id")
+    )
+    @Column(name = "tag", nullable = false)
+    @Builder.Default
+    private List<String> tags = new ArrayList<>();
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "access_level", nullable = false)
+    private AccessLevel accessLevel;
+
+    @CreationTimestamp
+    @Column(name = "initiated_at", nullable = false, updatable = false)
+    private Instant initiatedAt;
+}
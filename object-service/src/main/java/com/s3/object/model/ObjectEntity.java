@@ -50,4 +50,16 @@ public class ObjectEntity {
     @CreationTimestamp
     @Column(name = "uploaded_at", nullable = false, updatable = false)
     private Instant uploadedAt;
+
+    /** Current version (see ObjectPayloadVersionEntity); null for objects stored before versions were kept. */
+    @Column(name = "version_id")
+    private String versionId;
+
+    /** Highest version number handed out; advanced under the row lock. */
+    @Column(name = "latest_version")
+    private Integer latestVersion;
+
+    /** When the current version was stored; falls back to uploadedAt when null. */
+    @Column(name = "last_modified")
+    private Instant lastModified;
 }
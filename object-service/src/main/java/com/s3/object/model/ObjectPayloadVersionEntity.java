@@ -0,0 +1,53 @@
+package com.s3.object.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.Instant;
+
+/**
+ * Stored bytes of one version of an object. The object row points at its
+ * current version; older versions stay readable by id until the object is
+ * deleted. Under the content-addressed layout identical versions share one
+ * blob, so re-uploading or restoring content costs no extra space.
+ */
+@Entity
+@Table(
+        name = "object_payload_versions",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"object_id", "version_number"})
+)
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ObjectPayloadVersionEntity {
+
+    @Id
+    private String id;
+
+    @Column(name = "object_id", nullable = false)
+    private String objectId;
+
+    @Column(name = "version_number", nullable = false)
+    private int versionNumber;
+
+    @Column(nullable = false)
+    private long size;
+
+    @Column(nullable = false)
+    private String checksum;
+
+    @Column(name = "content_type", nullable = false)
+    private String contentType;
+
+    @Column(name = "storage_path", nullable = false)
+    private String storagePath;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private Instant createdAt;
+}
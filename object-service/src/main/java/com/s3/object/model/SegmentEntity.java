@@ -0,0 +1,49 @@
+package com.s3.object.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.Instant;
+
+/**
+ * An append-only segment file holding packed small payloads. {@code size}
+ * is set once the segment is sealed; {@code deadBytes} counts the needles
+ * nothing references, which compaction reclaims. It is recounted from the
+ * rows on sealing and grows with each delete afterwards.
+ */
+@Entity
+@Table(name = "storage_segments")
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class SegmentEntity {
+
+    @Id
+    private String id;
+
+    @Column(nullable = false, unique = true, length = 1024)
+    private String path;
+
+    /** Bytes written; null while the segment is open for appends */
+    private Long size;
+
+    @Column(name = "dead_bytes", nullable = false)
+    private long deadBytes;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private Instant createdAt;
+
+    /** When the segment was sealed; compaction waits until uploads that appended to it have finished */
+    @Column(name = "sealed_at")
+    private Instant sealedAt;
+
+    /** Set once live needles were copied out; the file is deleted after a grace period */
+    @Column(name = "compacted_at")
+    private Instant compactedAt;
+}
@@ -0,0 +1,73 @@
+package com.s3.object.reactive;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.s3.object.client.BucketServiceClient;
+import com.s3.object.service.ObjectService;
+import com.s3.object.storage.StorageBackend;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.ServletRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.server.reactive.HttpHandler;
+import org.springframework.http.server.reactive.ServletHttpHandlerAdapter;
+import org.springframework.web.reactive.function.server.HandlerStrategies;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Reactive deployment mode for the object data path, enabled with
+ * {@code storage.reactive.enabled}.
+ * <p>
+ * The service stays a servlet application (security, JPA and the rest of
+ * the API are unchanged); {@link ReactiveObjectHandler}'s routes are mounted
+ * as a second servlet under {@code storage.reactive.path} through
+ * {@link ServletHttpHandlerAdapter}, which drives them with Servlet
+ * non-blocking I/O. The JWT filter chain applies as for every other path.
+ */
+@Configuration
+@ConditionalOnProperty(name = "storage.reactive.enabled", havingValue = "true")
+public class ReactiveObjectConfig {
+
+    @Bean(destroyMethod = "dispose")
+    public Scheduler objectJdbcScheduler(@Value("${storage.reactive.jdbc-threads:10}") int threads) {
+        return Schedulers.newBoundedElastic(threads, Schedulers.DEFAULT_BOUNDED_ELASTIC_QUEUESIZE, "object-jdbc");
+    }
+
+    @Bean
+    public ReactiveObjectHandler reactiveObjectHandler(
+            ObjectService objectService,
+            BucketServiceClient bucketServiceClient,
+            StorageBackend storageBackend,
+            @Qualifier("objectJdbcScheduler") Scheduler jdbcScheduler
+    ) {
+        return new ReactiveObjectHandler(objectService, bucketServiceClient, storageBackend, jdbcScheduler);
+    }
+
+    @Bean
+    public ServletRegistrationBean<ServletHttpHandlerAdapter> reactiveObjectServlet(
+            ReactiveObjectHandler handler,
+            ObjectMapper objectMapper,
+            @Value("${storage.reactive.path:/reactive}") String path
+    ) {
+        // Same JSON settings as the MVC endpoints
+        HandlerStrategies strategies = HandlerStrategies.builder()
+                .codecs(codecs -> {
+                    codecs.defaultCodecs().jackson2JsonEncoder(new Jackson2JsonEncoder(objectMapper));
+                    codecs.defaultCodecs().jackson2JsonDecoder(new Jackson2JsonDecoder(objectMapper));
+                })
+                .build();
+        HttpHandler httpHandler = RouterFunctions.toHttpHandler(handler.routes(), strategies);
+
+        ServletRegistrationBean<ServletHttpHandlerAdapter> registration =
+                new ServletRegistrationBean<>(new ServletHttpHandlerAdapter(httpHandler), path + "/*");
+        registration.setName("reactiveObjectServlet");
+        registration.setAsyncSupported(true);
+        registration.setLoadOnStartup(1);
+        return registration;
+    }
+}
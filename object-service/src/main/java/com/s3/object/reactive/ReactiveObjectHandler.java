@@ -0,0 +1,243 @@
+package com.s3.object.reactive;
+
+import com.s3.common.dto.request.CreateObjectRequestDTO;
+import com.s3.common.enums.AccessLevel;
+import com.s3.common.exception.ErrorCode;
+import com.s3.common.exception.InvalidRequestException;
+import com.s3.common.exception.ResourceNotFoundException;
+import com.s3.common.exception.UnauthorizedAccessException;
+import com.s3.common.logging.LoggingUtil;
+import com.s3.common.response.ApiResponse;
+import com.s3.common.response.ErrorResponse;
+import com.s3.common.security.JwtUserPrincipal;
+import com.s3.object.client.BucketServiceClient;
+import com.s3.object.service.ObjectService;
+import com.s3.object.storage.StorageBackend;
+import org.slf4j.Logger;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.util.StringUtils;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+
+/**
+ * Non-blocking variants of the object upload, download and HEAD endpoints
+ * (see {@link ReactiveObjectConfig}).
+ * <p>
+ * Request bodies are written to the staging file as buffers arrive and
+ * payloads are read back through an {@code AsynchronousFileChannel}, so a
+ * slow client holds a connection but no thread. Bucket lookups use the
+ * shared bucket cache and a non-blocking WebClient call on a miss. JPA
+ * stays blocking and runs on a dedicated scheduler sized to the
+ * connection pool.
+ */
+public class ReactiveObjectHandler {
+
+    private static final Logger log = LoggingUtil.getLogger(ReactiveObjectHandler.class);
+
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+
+    private final ObjectService objectService;
+    private final BucketServiceClient bucketServiceClient;
+    private final StorageBackend storageBackend;
+    private final Scheduler jdbcScheduler;
+
+    public ReactiveObjectHandler(
+            ObjectService objectService,
+            BucketServiceClient bucketServiceClient,
+            StorageBackend storageBackend,
+            Scheduler jdbcScheduler
+    ) {
+        this.objectService = objectService;
+        this.bucketServiceClient = bucketServiceClient;
+        this.storageBackend = storageBackend;
+        this.jdbcScheduler = jdbcScheduler;
+    }
+
+    /** Same paths as {@code ObjectController}, relative to the reactive servlet's mapping. */
+    public RouterFunction<ServerResponse> routes() {
+        return RouterFunctions.route()
+                .PUT("/objects/{bucketName}/{objectName}", this::putObject)
+                .GET("/objects/{bucketName}/{objectName}/download", this::downloadObject)
+                .HEAD("/objects/{bucketName}/{objectName}/download", this::headObject)
+                .onError(e -> true, this::errorResponse)
+                .build();
+    }
+
+    // ----------------------------------------------------------------------
+    // PUT OBJECT
+    // ----------------------------------------------------------------------
+
+    Mono<ServerResponse> putObject(ServerRequest request) {
+        String bucketName = request.pathVariable("bucketName");
+        String objectName = request.pathVariable("objectName");
+        HttpHeaders headers = request.headers().asHttpHeaders();
+        long contentLength = headers.getContentLength();
+        String contentType = headers.getFirst(HttpHeaders.CONTENT_TYPE);
+
+        return currentCaller().flatMap(caller -> {
+            CreateObjectRequestDTO metadata = metadataOf(headers);
+
+            log.info(
+                    "User [{}] putting object [{}] ({} bytes) into bucket [{}] (reactive)",
+                    caller.userId(), objectName, contentLength, bucketName
+            );
+
+            return bucketServiceClient.getOwnedBucket(bucketName, caller.userId(), caller.token())
+                    .flatMap(bucket -> onJdbc(() -> Optional.ofNullable(
+                                    objectService.prepareUpload(bucket, objectName, contentLength)))
+                            .flatMap(existing -> storageBackend
+                                    .stage(
+                                            ObjectService.objectKey(bucketName, objectName),
+                                            request.bodyToFlux(DataBuffer.class)
+                                    )
+                                    .flatMap(staged -> onJdbc(() -> objectService.completeUpload(
+                                            bucket, caller.userId(), objectName, contentType,
+                                            contentLength, staged, existing.orElse(null), metadata
+                                    )))));
+        }).flatMap(object -> {
+            ServerResponse.BodyBuilder response = ServerResponse.ok()
+                    .eTag("\"" + object.getChecksum() + "\"")
+                    .contentType(MediaType.APPLICATION_JSON);
+            if (object.getVersionId() != null) {
+                response.header(ObjectService.VERSION_ID_HEADER, object.getVersionId());
+            }
+            return response.bodyValue(ApiResponse.success(object));
+        });
+    }
+
+    private static CreateObjectRequestDTO metadataOf(HttpHeaders headers) {
+        String tags = headers.getFirst("x-amz-meta-tags");
+        String accessLevel = headers.getFirst("x-amz-meta-access-level");
+        try {
+            return CreateObjectRequestDTO.builder()
+                    .description(headers.getFirst("x-amz-meta-description"))
+                    .tags(tags != null
+                            ? new ArrayList<>(Arrays.asList(StringUtils.commaDelimitedListToStringArray(tags)))
+                            : new ArrayList<>())
+                    .accessLevel(accessLevel != null ? AccessLevel.valueOf(accessLevel.trim()) : AccessLevel.PRIVATE)
+                    .build();
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRequestException("Invalid access level: " + accessLevel);
+        }
+    }
+
+    // ----------------------------------------------------------------------
+    // DOWNLOAD / HEAD
+    // ----------------------------------------------------------------------
+
+    /**
+     * Conditional GET is answered from the validators; byte ranges are
+     * served by WebFlux's resource writer. A stale {@code If-Range}
+     * validator gets the full body, as in {@code ObjectService#downloadObject}.
+     */
+    Mono<ServerResponse> downloadObject(ServerRequest request) {
+        String ifRange = request.headers().firstHeader(HttpHeaders.IF_RANGE);
+
+        return findPayload(request).flatMap(payload -> {
+            HttpHeaders headers = ObjectService.objectHeaders(payload);
+
+            return request.checkNotModified(payload.lastModified(), headers.getETag())
+                    .switchIfEmpty(Mono.defer(() -> {
+                        Resource resource = storageBackend.get(payload.location());
+                        ServerResponse.BodyBuilder response = ServerResponse.ok()
+                                .headers(h -> h.addAll(headers))
+                                .header(
+                                        HttpHeaders.CONTENT_DISPOSITION,
+                                        "attachment; filename=\"" + payload.fileName() + "\""
+                                );
+
+                        if (ifRange == null || ObjectService.isRangeValidatorCurrent(ifRange, payload)) {
+                            return response.body(BodyInserters.fromResource(resource));
+                        }
+                        return response
+                                .contentLength(payload.size())
+                                .body(BodyInserters.fromDataBuffers(DataBufferUtils.read(
+                                        resource, DefaultDataBufferFactory.sharedInstance, READ_BUFFER_SIZE
+                                )));
+                    }));
+        });
+    }
+
+    Mono<ServerResponse> headObject(ServerRequest request) {
+        return findPayload(request).flatMap(payload -> ServerResponse.ok()
+                .headers(h -> h.addAll(ObjectService.objectHeaders(payload)))
+                .contentLength(payload.size())
+                .build());
+    }
+
+    private Mono<ObjectService.StoredPayload> findPayload(ServerRequest request) {
+        String bucketName = request.pathVariable("bucketName");
+        String objectName = request.pathVariable("objectName");
+        String versionId = request.queryParam("versionId").orElse(null);
+
+        return currentCaller()
+                .flatMap(caller -> bucketServiceClient.getOwnedBucket(bucketName, caller.userId(), caller.token()))
+                .flatMap(bucket -> onJdbc(() -> objectService.findStoredPayload(bucket, objectName, versionId)));
+    }
+
+    // ----------------------------------------------------------------------
+    // SUPPORT
+    // ----------------------------------------------------------------------
+
+    /** Authenticated caller; the SecurityContext is thread-bound, so it is read before the pipeline goes async. */
+    private record Caller(String userId, String token) {
+    }
+
+    private static Mono<Caller> currentCaller() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth == null || !(auth.getPrincipal() instanceof JwtUserPrincipal principal)) {
+            return Mono.error(new UnauthorizedAccessException("User not authenticated"));
+        }
+        return Mono.just(new Caller(
+                principal.getUserId(),
+                auth.getCredentials() instanceof String token ? token : null
+        ));
+    }
+
+    /** Runs blocking JPA work off the I/O path. */
+    private <T> Mono<T> onJdbc(Callable<T> work) {
+        return Mono.fromCallable(work).subscribeOn(jdbcScheduler);
+    }
+
+    /** Same status codes and body as {@code GlobalExceptionHandler}. */
+    private Mono<ServerResponse> errorResponse(Throwable e, ServerRequest request) {
+        HttpStatus status;
+        String code;
+        if (e instanceof InvalidRequestException) {
+            status = HttpStatus.BAD_REQUEST;
+            code = ErrorCode.INVALID_INPUT;
+        } else if (e instanceof ResourceNotFoundException) {
+            status = HttpStatus.NOT_FOUND;
+            code = ErrorCode.NOT_FOUND;
+        } else if (e instanceof UnauthorizedAccessException) {
+            status = HttpStatus.UNAUTHORIZED;
+            code = ErrorCode.AUTHORIZATION_ERROR;
+        } else {
+            log.error("Reactive {} {} failed", request.method(), request.path(), e);
+            status = HttpStatus.INTERNAL_SERVER_ERROR;
+            code = ErrorCode.INTERNAL_SERVER_ERROR;
+        }
+        return ServerResponse.status(status)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new ErrorResponse(code, e.getMessage(), Instant.now()));
+    }
+}
@@ -0,0 +1,40 @@
+package com.s3.object.repository;
+
+import com.s3.object.model.BlobEntity;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+public interface BlobRepository extends JpaRepository<BlobEntity, String> {
+
+    /**
+     * Inserts the blob with one reference or adds a reference to the existing
+     * row. The row stays locked until the surrounding transaction ends.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO blobs (hash, size, ref_count, created_at)
+            VALUES (:hash, :size, 1, now())
+            ON CONFLICT (hash) DO UPDATE SET ref_count = blobs.ref_count + 1
+            """, nativeQuery = true)
+    void acquire(@Param("hash") String hash, @Param("size") long size);
+
+    /**
+     * Serializes work on one hash (including blobs without a row yet) until
+     * the surrounding transaction ends.
+     */
+    @Query(value = "SELECT 1 FROM pg_advisory_xact_lock(hashtextextended(:hash, 0))", nativeQuery = true)
+    int lockHash(@Param("hash") String hash);
+
+    @Query("select b.refCount from BlobEntity b where b.hash = :hash")
+    int findRefCount(@Param("hash") String hash);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select b from BlobEntity b where b.hash = :hash")
+    Optional<BlobEntity> findForUpdate(@Param("hash") String hash);
+}
@@ -0,0 +1,35 @@
+package com.s3.object.repository;
+
+import com.s3.object.model.BucketDeletionJobEntity;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface BucketDeletionJobRepository extends JpaRepository<BucketDeletionJobEntity, String> {
+
+    @Query("SELECT j.id FROM BucketDeletionJobEntity j WHERE j.status <> 'COMPLETED' ORDER BY j.createdAt")
+    List<String> findUnfinishedIds();
+
+    Optional<BucketDeletionJobEntity> findFirstByBucketNameOrderByCreatedAtDesc(String bucketName);
+
+    @Modifying
+    @Query("UPDATE BucketDeletionJobEntity j SET j.filesFailed = j.filesFailed + :count WHERE j.id = :id")
+    int addFilesFailed(@Param("id") String id, @Param("count") long count);
+
+    /**
+     * Locks the job row for the current transaction, or returns empty if
+     * another replica holds it (SKIP LOCKED).
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT j FROM BucketDeletionJobEntity j WHERE j.id = :id")
+    Optional<BucketDeletionJobEntity> claim(@Param("id") String id);
+}
@@ -0,0 +1,38 @@
+package com.s3.object.repository;
+
+import com.s3.object.model.MultipartPartEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface MultipartPartRepository extends JpaRepository<MultipartPartEntity, String> {
+    List<MultipartPartEntity> findAllByUploadIdOrderByPartNumberAsc(String uploadId);
+    Optional<MultipartPartEntity> findByUploadIdAndPartNumber(String uploadId, int partNumber);
+
+    /**
+     * Records the part, replacing an earlier upload of the same part number.
+     * The row stays locked until the surrounding transaction ends.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO multipart_parts (id, upload_id, part_number, size, checksum, uploaded_at)
+            VALUES (:id, :uploadId, :partNumber, :size, :checksum, now())
+            ON CONFLICT (upload_id, part_number)
+            DO UPDATE SET size = EXCLUDED.size, checksum = EXCLUDED.checksum, uploaded_at = EXCLUDED.uploaded_at
+            """, nativeQuery = true)
+    void upsert(
+            @Param("id") String id,
+            @Param("uploadId") String uploadId,
+            @Param("partNumber") int partNumber,
+            @Param("size") long size,
+            @Param("checksum") String checksum
+    );
+
+    @Transactional
+    void deleteAllByUploadId(String uploadId);
+}
@@ -0,0 +1,7 @@
+package com.s3.object.repository;
+
+import com.s3.object.model.MultipartUploadEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface MultipartUploadRepository extends JpaRepository<MultipartUploadEntity, String> {
+}
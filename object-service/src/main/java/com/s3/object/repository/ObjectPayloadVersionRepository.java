@@ -0,0 +1,35 @@
+package com.s3.object.repository;
+
+import com.s3.object.model.ObjectPayloadVersionEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface ObjectPayloadVersionRepository extends JpaRepository<ObjectPayloadVersionEntity, String> {
+
+    List<ObjectPayloadVersionEntity> findByObjectIdOrderByVersionNumberDesc(String objectId);
+
+    Optional<ObjectPayloadVersionEntity> findByIdAndObjectId(String id, String objectId);
+
+    List<ObjectPayloadVersionEntity> findAllByObjectIdIn(Collection<String> objectIds);
+
+    @Modifying
+    @Query("DELETE FROM ObjectPayloadVersionEntity v WHERE v.objectId IN :objectIds")
+    int deleteAllByObjectIdIn(@Param("objectIds") Collection<String> objectIds);
+
+    /** Distinct locations matching {@code locationPattern} (a LIKE pattern escaped with backslash). */
+    @Query(value = """
+            SELECT DISTINCT storage_path FROM object_payload_versions
+            WHERE storage_path LIKE :locationPattern ESCAPE '\\'
+            """, nativeQuery = true)
+    List<String> findStoragePathsLike(@Param("locationPattern") String locationPattern);
+
+    @Modifying
+    @Query("UPDATE ObjectPayloadVersionEntity v SET v.storagePath = :to WHERE v.storagePath = :from")
+    int updateStoragePath(@Param("from") String from, @Param("to") String to);
+}
@@ -1,16 +1,100 @@
-
 package com.s3.object.repository;
 
+import com.s3.object.index.IndexedObject;
 import com.s3.object.model.ObjectEntity;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface ObjectRepository extends JpaRepository<ObjectEntity, String> {
     List<ObjectEntity> findAllByBucketName(String bucketName);
     Optional<ObjectEntity> findByBucketNameAndFileName(String bucketName, String fileName);
     boolean existsByBucketNameAndFileName(String bucketName, String fileName);
     void deleteByBucketNameAndFileName(String bucketName, String fileName);
-}
 
+    /** Locks the object row; serializes version changes (overwrite, restore) of one object. */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT o FROM ObjectEntity o WHERE o.id = :id")
+    Optional<ObjectEntity> findByIdForUpdate(@Param("id") String id);
+
+    /**
+     * Keyset page of keys after {@code startAfter} that start with
+     * {@code keyPrefix}, in byte order. {@code keyPattern} is the prefix as a
+     * LIKE pattern escaped with backslash; the range condition on the prefix
+     * lets the index seek to it instead of scanning the keys before it.
+     */
+    @Query(value = """
+            SELECT * FROM objects
+            WHERE bucket_name = :bucketName
+              AND file_name COLLATE "C" >= :keyPrefix
+              AND file_name LIKE :keyPattern ESCAPE '\\'
+              AND file_name COLLATE "C" > :startAfter
+            ORDER BY file_name COLLATE "C"
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<ObjectEntity> findPageAfter(
+            @Param("bucketName") String bucketName,
+            @Param("keyPrefix") String keyPrefix,
+            @Param("keyPattern") String keyPattern,
+            @Param("startAfter") String startAfter,
+            @Param("limit") int limit
+    );
+
+    /**
+     * Keyset page, in byte order, of the bucket's keys after {@code startAfter}
+     * that belong to {@code ownerId} and were last written no later than
+     * {@code writtenBefore}; objects of a bucket re-created under the same
+     * name are left alone.
+     */
+    @Query(value = """
+            SELECT * FROM objects
+            WHERE bucket_name = :bucketName
+              AND owner_id = :ownerId
+              AND COALESCE(last_modified, uploaded_at) <= :writtenBefore
+              AND file_name COLLATE "C" > :startAfter
+            ORDER BY file_name COLLATE "C"
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<ObjectEntity> findDeletionPageAfter(
+            @Param("bucketName") String bucketName,
+            @Param("ownerId") String ownerId,
+            @Param("writtenBefore") Instant writtenBefore,
+            @Param("startAfter") String startAfter,
+            @Param("limit") int limit
+    );
+
+    /** Every object, as read into the location index; streamed with a server-side cursor. */
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "1000"))
+    @Query("""
+            SELECT new com.s3.object.index.IndexedObject(
+                o.id, o.bucketName, o.fileName, o.size, o.checksum, o.contentType,
+                o.storagePath, o.versionId, o.uploadedAt, o.lastModified)
+            FROM ObjectEntity o
+            """)
+    Stream<IndexedObject> streamIndexedObjects();
+
+    List<ObjectEntity> findAllByStoragePathIn(Collection<String> storagePaths);
+
+    /** Distinct locations matching {@code locationPattern} (a LIKE pattern escaped with backslash). */
+    @Query(value = """
+            SELECT DISTINCT storage_path FROM objects
+            WHERE storage_path LIKE :locationPattern ESCAPE '\\'
+            """, nativeQuery = true)
+    List<String> findStoragePathsLike(@Param("locationPattern") String locationPattern);
+
+    /** Points every object stored at {@code from} to {@code to}; payloads do not change. */
+    @Modifying
+    @Query("UPDATE ObjectEntity o SET o.storagePath = :to WHERE o.storagePath = :from")
+    int updateStoragePath(@Param("from") String from, @Param("to") String to);
+}
@@ -0,0 +1,60 @@
+package com.s3.object.repository;
+
+import com.s3.object.model.SegmentEntity;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+public interface SegmentRepository extends JpaRepository<SegmentEntity, String> {
+
+    @Modifying
+    @Query("UPDATE SegmentEntity s SET s.deadBytes = s.deadBytes + :bytes WHERE s.path = :path")
+    int addDeadBytes(@Param("path") String path, @Param("bytes") long bytes);
+
+    /** Locks the segment row, waiting for deletes that are counting dead bytes against it. */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM SegmentEntity s WHERE s.id = :id")
+    Optional<SegmentEntity> findByIdForUpdate(@Param("id") String id);
+
+    /** Open segments whose writer has given them up (rolled over or stopped). */
+    @Query("SELECT s FROM SegmentEntity s WHERE s.size IS NULL AND s.createdAt < :openedBefore")
+    List<SegmentEntity> findAbandoned(@Param("openedBefore") Instant openedBefore);
+
+    /**
+     * Segments sealed before {@code sealedBefore} with at least
+     * {@code minDeadRatio} of their bytes dead, most garbage first.
+     */
+    @Query("""
+            SELECT s.id FROM SegmentEntity s
+            WHERE s.compactedAt IS NULL AND s.size IS NOT NULL AND s.deadBytes >= s.size * :minDeadRatio
+              AND (s.sealedAt IS NULL OR s.sealedAt < :sealedBefore)
+            ORDER BY s.deadBytes DESC
+            """)
+    List<String> findCompactionCandidates(
+            @Param("minDeadRatio") double minDeadRatio,
+            @Param("sealedBefore") Instant sealedBefore,
+            Pageable page
+    );
+
+    @Query("SELECT s FROM SegmentEntity s WHERE s.compactedAt < :compactedBefore")
+    List<SegmentEntity> findCompactedBefore(@Param("compactedBefore") Instant compactedBefore);
+
+    /**
+     * Locks the segment row for the current transaction, or returns empty if
+     * another replica holds it (SKIP LOCKED).
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT s FROM SegmentEntity s WHERE s.id = :id")
+    Optional<SegmentEntity> claim(@Param("id") String id);
+}
@@ -0,0 +1,331 @@
+package com.s3.object.service;
+
+import com.s3.common.dto.response.BucketDeletionStatusDTO;
+import com.s3.common.exception.ResourceNotFoundException;
+import com.s3.common.logging.LoggingUtil;
+import com.s3.object.event.service.ObjectEventService;
+import com.s3.object.index.ObjectLocationIndex;
+import com.s3.object.model.BucketDeletionJobEntity;
+import com.s3.object.model.ObjectEntity;
+import com.s3.object.repository.BucketDeletionJobRepository;
+import com.s3.object.repository.ObjectPayloadVersionRepository;
+import com.s3.object.repository.ObjectRepository;
+import com.s3.object.storage.BlobStore;
+import com.s3.object.storage.SegmentStore;
+import com.s3.object.storage.StorageBackend;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Removes the objects of deleted buckets in the background.
+ * <p>
+ * The bucket event consumer only records a job; a single runner thread
+ * works through unfinished jobs in keyset-ordered chunks. Each chunk is one
+ * transaction that locks the job row (replicas skip jobs already locked),
+ * releases shared blobs and packed payloads, deletes the rows in bulk,
+ * publishes one {@code OBJECTS_DELETED} event for metadata-service and
+ * advances the cursor, so a job picks up where it stopped after a failure
+ * or restart. Plain files are deleted in parallel once the chunk has
+ * committed, so a rolled back chunk never leaves rows pointing at deleted
+ * files and no lock or connection is held during the file I/O.
+ * Objects written after the bucket was deleted are skipped: they belong to
+ * a bucket re-created under the same name.
+ * Throughput is capped by {@code storage.bucket-deletion.max-objects-per-second}.
+ */
+@Service
+public class BucketDeletionService {
+
+    private static final Logger log = LoggingUtil.getLogger(BucketDeletionService.class);
+
+    /** Outcome of one chunk transaction: objects deleted and plain files left to delete. */
+    private record Chunk(int size, List<String> files) {
+        // The job is finished or held by another replica
+        static final Chunk NOT_CLAIMED = new Chunk(-1, List.of());
+    }
+
+    private final BucketDeletionJobRepository jobRepository;
+    private final ObjectRepository objectRepository;
+    private final ObjectPayloadVersionRepository versionRepository;
+    private final ObjectService objectService;
+    private final ObjectEventService objectEventService;
+    private final StorageBackend storageBackend;
+    private final BlobStore blobStore;
+    private final SegmentStore segmentStore;
+    private final ObjectProvider<ObjectLocationIndex> locationIndex;
+    private final TransactionTemplate transactionTemplate;
+
+    private final int chunkSize;
+    private final int maxObjectsPerSecond;
+    private final ExecutorService runner = Executors.newSingleThreadExecutor();
+    private final ExecutorService fileDeletePool;
+    private final AtomicBoolean draining = new AtomicBoolean();
+
+    public BucketDeletionService(
+            BucketDeletionJobRepository jobRepository,
+            ObjectRepository objectRepository,
+            ObjectPayloadVersionRepository versionRepository,
+            ObjectService objectService,
+            ObjectEventService objectEventService,
+            StorageBackend storageBackend,
+            BlobStore blobStore,
+            SegmentStore segmentStore,
+            ObjectProvider<ObjectLocationIndex> locationIndex,
+            TransactionTemplate transactionTemplate,
+            @Value("${storage.bucket-deletion.chunk-size:500}") int chunkSize,
+            @Value("${storage.bucket-deletion.max-objects-per-second:2000}") int maxObjectsPerSecond,
+            @Value("${storage.bucket-deletion.file-delete-threads:8}") int fileDeleteThreads
+    ) {
+        this.jobRepository = jobRepository;
+        this.objectRepository = objectRepository;
+        this.versionRepository = versionRepository;
+        this.objectService = objectService;
+        this.objectEventService = objectEventService;
+        this.storageBackend = storageBackend;
+        this.blobStore = blobStore;
+        this.segmentStore = segmentStore;
+        this.locationIndex = locationIndex;
+        this.transactionTemplate = transactionTemplate;
+        this.chunkSize = chunkSize;
+        this.maxObjectsPerSecond = maxObjectsPerSecond;
+        this.fileDeletePool = Executors.newFixedThreadPool(fileDeleteThreads);
+    }
+
+    // ----------------------------------------------------------------------
+    // ENQUEUE / STATUS
+    // ----------------------------------------------------------------------
+
+    /** Records a deletion job; a redelivered event does not create a second one. */
+    @Transactional
+    public void enqueue(String eventId, String bucketName, String ownerId, Instant bucketDeletedAt) {
+        if (jobRepository.existsById(eventId)) {
+            return;
+        }
+        jobRepository.save(BucketDeletionJobEntity.builder()
+                .id(eventId)
+                .bucketName(bucketName)
+                .ownerId(ownerId)
+                .bucketDeletedAt(bucketDeletedAt != null ? bucketDeletedAt : Instant.now())
+                .status(BucketDeletionJobEntity.Status.PENDING)
+                .build());
+        log.info("Queued deletion of objects in bucket [{}]", bucketName);
+    }
+
+    @Transactional(readOnly = true)
+    public BucketDeletionStatusDTO getStatus(String bucketName, String userId) {
+        BucketDeletionJobEntity job = jobRepository
+                .findFirstByBucketNameOrderByCreatedAtDesc(bucketName)
+                .filter(j -> Objects.equals(j.getOwnerId(), userId))
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        "No deletion job for bucket: " + bucketName));
+
+        return new BucketDeletionStatusDTO(
+                job.getBucketName(),
+                job.getStatus().name(),
+                job.getObjectsDeleted(),
+                job.getFilesFailed(),
+                job.getLastKey(),
+                job.getLastError(),
+                job.getCreatedAt(),
+                job.getUpdatedAt(),
+                job.getCompletedAt()
+        );
+    }
+
+    // ----------------------------------------------------------------------
+    // RUNNER
+    // ----------------------------------------------------------------------
+
+    /** Starts draining unfinished jobs unless the runner is already busy. */
+    @Scheduled(fixedDelayString = "${storage.bucket-deletion.poll-interval-ms:5000}")
+    public void poll() {
+        if (!draining.compareAndSet(false, true)) {
+            return;
+        }
+        runner.execute(() -> {
+            try {
+                jobRepository.findUnfinishedIds().forEach(this::runJob);
+            } catch (RuntimeException e) {
+                log.error("Bucket deletion runner failed", e);
+            } finally {
+                draining.set(false);
+            }
+        });
+    }
+
+    private void runJob(String jobId) {
+        while (true) {
+            long start = System.nanoTime();
+            Chunk chunk;
+            try {
+                chunk = transactionTemplate.execute(status -> deleteChunk(jobId));
+            } catch (RuntimeException e) {
+                // Cursor was not advanced; the chunk is retried on the next poll
+                log.warn("Bucket deletion job [{}] failed, will retry", jobId, e);
+                recordError(jobId, e);
+                return;
+            }
+            recordFilesFailed(jobId, deleteFiles(chunk.files()));
+            if (chunk.size() < chunkSize) {
+                return;
+            }
+            throttle(chunk.size(), System.nanoTime() - start);
+            if (Thread.currentThread().isInterrupted()) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Deletes the rows of the next chunk of the job and returns its size
+     * with the plain files to delete after commit. A chunk shorter than
+     * {@code chunkSize} completes the job.
+     */
+    private Chunk deleteChunk(String jobId) {
+        BucketDeletionJobEntity job = jobRepository.claim(jobId).orElse(null);
+        if (job == null || job.getStatus() == BucketDeletionJobEntity.Status.COMPLETED) {
+            return Chunk.NOT_CLAIMED;
+        }
+        job.setStatus(BucketDeletionJobEntity.Status.RUNNING);
+
+        List<ObjectEntity> chunk = objectRepository.findDeletionPageAfter(
+                job.getBucketName(),
+                job.getOwnerId(),
+                job.getBucketDeletedAt(),
+                job.getLastKey(),
+                chunkSize
+        );
+
+        List<String> files = List.of();
+        if (!chunk.isEmpty()) {
+            files = releaseShared(objectService.findPayloadLocations(chunk));
+            versionRepository.deleteAllByObjectIdIn(chunk.stream().map(ObjectEntity::getId).toList());
+            objectRepository.deleteAllInBatch(chunk);
+            locationIndex.ifAvailable(index -> index.removeAfterCommit(
+                    job.getBucketName(),
+                    chunk.stream().map(ObjectEntity::getFileName).toList()
+            ));
+            objectEventService.publishObjectsDeletedEvent(
+                    job.getBucketName(),
+                    job.getOwnerId(),
+                    chunk.stream().map(ObjectEntity::getId).toList()
+            );
+            job.setLastKey(chunk.get(chunk.size() - 1).getFileName());
+            job.setObjectsDeleted(job.getObjectsDeleted() + chunk.size());
+            job.setLastError(null);
+            log.debug("Bucket [{}]: {} objects deleted", job.getBucketName(), job.getObjectsDeleted());
+        }
+
+        if (chunk.size() < chunkSize) {
+            job.setStatus(BucketDeletionJobEntity.Status.COMPLETED);
+            job.setCompletedAt(Instant.now());
+            log.info(
+                    "Deletion of bucket [{}] completed: {} objects",
+                    job.getBucketName(), job.getObjectsDeleted()
+            );
+        }
+        return new Chunk(chunk.size(), files);
+    }
+
+    /**
+     * Releases the shared blobs and packed payloads among the chunk's stored
+     * files (every version of every object), so the reference and dead-byte
+     * counts join the transaction, and returns the plain files.
+     */
+    private List<String> releaseShared(List<String> locations) {
+        List<String> files = new ArrayList<>();
+        for (String location : locations) {
+            if (blobStore.isBlob(location)) {
+                blobStore.release(location);
+            } else if (segmentStore.isSegment(location)) {
+                segmentStore.release(location);
+            } else {
+                files.add(location);
+            }
+        }
+        return files;
+    }
+
+    /** Deletes the plain files of a committed chunk in parallel and returns how many could not be removed. */
+    private long deleteFiles(List<String> files) {
+        List<CompletableFuture<Boolean>> deletes = new ArrayList<>(files.size());
+        for (String location : files) {
+            deletes.add(CompletableFuture.supplyAsync(() -> deleteFile(location), fileDeletePool));
+        }
+        return deletes.stream()
+                .map(CompletableFuture::join)
+                .filter(deleted -> !deleted)
+                .count();
+    }
+
+    private boolean deleteFile(String location) {
+        try {
+            storageBackend.delete(location);
+            return true;
+        } catch (IOException e) {
+            log.warn("Failed to delete file from storage: {}", location, e);
+            return false;
+        }
+    }
+
+    private void recordFilesFailed(String jobId, long failed) {
+        if (failed == 0) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> jobRepository.addFilesFailed(jobId, failed));
+        } catch (RuntimeException e) {
+            log.warn("Could not record {} failed file deletes for bucket deletion job [{}]", failed, jobId, e);
+        }
+    }
+
+    private void recordError(String jobId, RuntimeException error) {
+        String message = String.valueOf(error.getMessage());
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    jobRepository.findById(jobId).ifPresent(job ->
+                            job.setLastError(message.length() > 1000 ? message.substring(0, 1000) : message)
+                    )
+            );
+        } catch (RuntimeException e) {
+            log.warn("Could not record error for bucket deletion job [{}]", jobId, e);
+        }
+    }
+
+    private void throttle(int deleted, long elapsedNanos) {
+        if (maxObjectsPerSecond <= 0) {
+            return;
+        }
+        long minimumNanos = TimeUnit.SECONDS.toNanos(deleted) / maxObjectsPerSecond;
+        long remaining = minimumNanos - elapsedNanos;
+        if (remaining > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(remaining);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        runner.shutdownNow();
+        fileDeletePool.shutdown();
+    }
+}
@@ -0,0 +1,286 @@
+package com.s3.object.service;
+
+import com.s3.common.dto.request.CompleteMultipartUploadRequestDTO;
+import com.s3.common.dto.request.CompletedPartDTO;
+import com.s3.common.dto.request.CreateObjectRequestDTO;
+import com.s3.common.dto.response.MultipartPartResponseDTO;
+import com.s3.common.dto.response.MultipartUploadResponseDTO;
+import com.s3.common.dto.response.ObjectResponseDTO;
+import com.s3.common.exception.InvalidRequestException;
+import com.s3.common.exception.ResourceNotFoundException;
+import com.s3.common.logging.LoggingUtil;
+import com.s3.object.mapper.MultipartUploadMapper;
+import com.s3.object.model.MultipartPartEntity;
+import com.s3.object.model.MultipartUploadEntity;
+import com.s3.object.repository.MultipartPartRepository;
+import com.s3.object.repository.MultipartUploadRepository;
+import com.s3.object.storage.ObjectFileWriter;
+import com.s3.object.storage.StoredFile;
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.FileSystemUtils;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * S3-style multipart uploads.
+ * <p>
+ * Each part is streamed to its own file under the multipart staging area, so
+ * parts can be uploaded in parallel and re-sent individually after a failure.
+ * Completing an upload concatenates the parts into a single staged file and
+ * hands it to {@link ObjectService} to become a regular object.
+ * <p>
+ * Part payloads are streamed outside any DB transaction; only the small
+ * bookkeeping rows are persisted.
+ */
+@Service
+public class MultipartUploadService {
+
+    private static final Logger log = LoggingUtil.getLogger(MultipartUploadService.class);
+
+    private static final int MAX_PART_NUMBER = 10_000;
+    private static final String PART_SUFFIX = ".part";
+
+    private final MultipartUploadRepository uploadRepository;
+    private final MultipartPartRepository partRepository;
+    private final MultipartUploadMapper mapper;
+    private final ObjectService objectService;
+    private final ObjectFileWriter fileWriter;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${storage.multipart.location:${storage.location}/.multipart}")
+    private String multipartLocation;
+
+    @Value("${storage.multipart.min-part-size:5242880}")
+    private long minPartSize;
+
+    public MultipartUploadService(
+            MultipartUploadRepository uploadRepository,
+            MultipartPartRepository partRepository,
+            MultipartUploadMapper mapper,
+            ObjectService objectService,
+            ObjectFileWriter fileWriter,
+            TransactionTemplate transactionTemplate
+    ) {
+        this.uploadRepository = uploadRepository;
+        this.partRepository = partRepository;
+        this.mapper = mapper;
+        this.objectService = objectService;
+        this.fileWriter = fileWriter;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    // ----------------------------------------------------------------------
+    // INITIATE
+    // ----------------------------------------------------------------------
+    public MultipartUploadResponseDTO initiate(
+            String bucketName,
+            String userId,
+            String fileName,
+            String contentType,
+            CreateObjectRequestDTO request
+    ) {
+        objectService.validateNewObject(bucketName, fileName);
+
+        MultipartUploadEntity upload = MultipartUploadEntity.builder()
+                .id(UUID.randomUUID().toString())
+                .ownerId(userId)
+                .bucketName(bucketName)
+                .fileName(fileName)
+                .contentType(StringUtils.hasText(contentType) ? contentType : "application/octet-stream")
+                .description(request.getDescription())
+                .tags(new ArrayList<>(request.getTags()))
+                .accessLevel(request.getAccessLevel())
+                .build();
+
+        uploadRepository.save(upload);
+
+        log.info("Initiated multipart upload [{}] for object [{}] in bucket [{}]",
+                upload.getId(), fileName, bucketName);
+
+        return mapper.toDTO(upload);
+    }
+
+    // ----------------------------------------------------------------------
+    // UPLOAD PART
+    // ----------------------------------------------------------------------
+    public MultipartPartResponseDTO uploadPart(
+            String bucketName,
+            String uploadId,
+            int partNumber,
+            String userId,
+            InputStream content
+    ) throws IOException {
+
+        if (partNumber < 1 || partNumber > MAX_PART_NUMBER) {
+            throw new InvalidRequestException(
+                    "Part number must be between 1 and " + MAX_PART_NUMBER
+            );
+        }
+
+        MultipartUploadEntity upload = getOwnedUpload(bucketName, uploadId, userId);
+
+        Path uploadDir = uploadDirectory(upload.getId());
+        StoredFile staged = fileWriter.stage(content, uploadDir);
+        try {
+            // Re-uploading a part number overwrites the previous part. The
+            // part row stays locked until the file is in place, so concurrent
+            // uploads of one part number take turns and the file always
+            // matches the recorded size and checksum.
+            MultipartPartEntity part = transactionTemplate.execute(status -> {
+                partRepository.upsert(
+                        UUID.randomUUID().toString(), uploadId, partNumber, staged.size(), staged.checksum());
+                try {
+                    fileWriter.replace(staged, partPath(uploadDir, partNumber));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                return partRepository.findByUploadIdAndPartNumber(uploadId, partNumber).orElseThrow();
+            });
+            return mapper.toPartDTO(part);
+        } catch (UncheckedIOException e) {
+            fileWriter.discard(staged);
+            throw e.getCause();
+        } catch (RuntimeException e) {
+            fileWriter.discard(staged);
+            throw e;
+        }
+    }
+
+    // ----------------------------------------------------------------------
+    // LIST PARTS
+    // ----------------------------------------------------------------------
+    public List<MultipartPartResponseDTO> listParts(
+            String bucketName,
+            String uploadId,
+            String userId
+    ) {
+        getOwnedUpload(bucketName, uploadId, userId);
+        return mapper.toPartDTOList(
+                partRepository.findAllByUploadIdOrderByPartNumberAsc(uploadId)
+        );
+    }
+
+    // ----------------------------------------------------------------------
+    // COMPLETE
+    // ----------------------------------------------------------------------
+    public ObjectResponseDTO complete(
+            String bucketName,
+            String uploadId,
+            String userId,
+            CompleteMultipartUploadRequestDTO request
+    ) throws IOException {
+
+        MultipartUploadEntity upload = getOwnedUpload(bucketName, uploadId, userId);
+
+        if (request == null || request.getParts() == null || request.getParts().isEmpty()) {
+            throw new InvalidRequestException("At least one part is required");
+        }
+
+        Map<Integer, MultipartPartEntity> stored = partRepository
+                .findAllByUploadIdOrderByPartNumberAsc(uploadId)
+                .stream()
+                .collect(Collectors.toMap(MultipartPartEntity::getPartNumber, Function.identity()));
+
+        Path uploadDir = uploadDirectory(uploadId);
+        List<Path> partPaths = new ArrayList<>();
+        List<CompletedPartDTO> requested = request.getParts();
+        int previousPartNumber = 0;
+
+        for (int i = 0; i < requested.size(); i++) {
+            CompletedPartDTO requestedPart = requested.get(i);
+            int partNumber = requestedPart.getPartNumber();
+
+            if (partNumber <= previousPartNumber) {
+                throw new InvalidRequestException("Parts must be listed in ascending order");
+            }
+            previousPartNumber = partNumber;
+
+            MultipartPartEntity part = stored.get(partNumber);
+            if (part == null) {
+                throw new InvalidRequestException("Part " + partNumber + " was not uploaded");
+            }
+            if (!part.getChecksum().equals(requestedPart.getChecksum())) {
+                throw new InvalidRequestException("Checksum mismatch for part " + partNumber);
+            }
+            boolean lastPart = i == requested.size() - 1;
+            if (!lastPart && part.getSize() < minPartSize) {
+                throw new InvalidRequestException(
+                        "Part " + partNumber + " is smaller than the minimum part size"
+                );
+            }
+            partPaths.add(partPath(uploadDir, partNumber));
+        }
+
+        StoredFile composed = fileWriter.compose(partPaths, uploadDir);
+
+        CreateObjectRequestDTO metadata = CreateObjectRequestDTO.builder()
+                .description(upload.getDescription())
+                .tags(new ArrayList<>(upload.getTags()))
+                .accessLevel(upload.getAccessLevel())
+                .build();
+
+        ObjectResponseDTO object = objectService.createObject(
+                upload.getBucketName(),
+                userId,
+                upload.getFileName(),
+                upload.getContentType(),
+                composed,
+                metadata
+        );
+
+        cleanup(upload);
+
+        log.info("Completed multipart upload [{}] with [{}] parts into object [{}]",
+                uploadId, partPaths.size(), object.getId());
+
+        return object;
+    }
+
+    // ----------------------------------------------------------------------
+    // ABORT
+    // ----------------------------------------------------------------------
+    public void abort(String bucketName, String uploadId, String userId) {
+        MultipartUploadEntity upload = getOwnedUpload(bucketName, uploadId, userId);
+        cleanup(upload);
+        log.info("Aborted multipart upload [{}]", uploadId);
+    }
+
+    private MultipartUploadEntity getOwnedUpload(String bucketName, String uploadId, String userId) {
+        return uploadRepository.findById(uploadId)
+                .filter(upload -> upload.getBucketName().equals(bucketName))
+                .filter(upload -> upload.getOwnerId().equals(userId))
+                .orElseThrow(() -> new ResourceNotFoundException("Upload not found: " + uploadId));
+    }
+
+    private void cleanup(MultipartUploadEntity upload) {
+        partRepository.deleteAllByUploadId(upload.getId());
+        uploadRepository.delete(upload);
+        try {
+            FileSystemUtils.deleteRecursively(uploadDirectory(upload.getId()));
+        } catch (IOException e) {
+            log.warn("Failed to delete parts of multipart upload [{}]", upload.getId(), e);
+        }
+    }
+
+    private Path uploadDirectory(String uploadId) {
+        return Paths.get(multipartLocation, uploadId);
+    }
+
+    private static Path partPath(Path uploadDir, int partNumber) {
+        return uploadDir.resolve(partNumber + PART_SUFFIX);
+    }
+}
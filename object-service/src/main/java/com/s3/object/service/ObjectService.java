@@ -3,34 +3,51 @@ package com.s3.object.service;
 import com.s3.common.dto.BucketDTO;
 import com.s3.common.dto.request.CreateObjectRequestDTO;
 import com.s3.common.dto.request.UpdateObjectRequestDTO;
+import com.s3.common.dto.response.ListObjectsResponseDTO;
+import com.s3.common.dto.response.ObjectPayloadVersionResponseDTO;
 import com.s3.common.dto.response.ObjectResponseDTO;
 import com.s3.common.exception.InvalidRequestException;
 import com.s3.common.exception.ResourceNotFoundException;
 import com.s3.common.logging.LoggingUtil;
-import com.s3.common.response.ApiResponse;
+import com.s3.common.util.SecurityUtils;
+import com.s3.object.client.BucketServiceClient;
+import com.s3.object.download.HotObjectCache;
 import com.s3.object.event.service.ObjectEventService;
+import com.s3.object.index.IndexedObject;
+import com.s3.object.index.ObjectLocationIndex;
 import com.s3.object.mapper.ObjectMapper;
 import com.s3.object.model.ObjectEntity;
+import com.s3.object.model.ObjectPayloadVersionEntity;
+import com.s3.object.repository.ObjectPayloadVersionRepository;
 import com.s3.object.repository.ObjectRepository;
-import org.springframework.core.ParameterizedTypeReference;
-import org.springframework.core.io.FileSystemResource;
+import com.s3.object.storage.BlobStore;
+import com.s3.object.storage.SegmentStore;
+import com.s3.object.storage.StorageBackend;
+import com.s3.object.storage.StoredFile;
+import org.springframework.core.io.InputStreamResource;
 import org.springframework.core.io.Resource;
 import org.slf4j.Logger;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpHeaders;
-import org.springframework.http.HttpStatusCode;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.util.StringUtils;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.multipart.MultipartFile;
-import org.springframework.web.reactive.function.client.WebClient;
-import reactor.core.publisher.Mono;
 
 import java.io.IOException;
-import java.nio.file.*;
-import java.security.MessageDigest;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.util.*;
 
 @Service
@@ -39,27 +56,54 @@ public class ObjectService {
 
     private static final Logger log = LoggingUtil.getLogger(ObjectService.class);
 
+    private static final int MAX_LIST_KEYS = 1000;
+    // Rows read after jumping past a common prefix; the next group is often a few keys away
+    private static final int PREFIX_PROBE_SIZE = 32;
+
+    public static final String VERSION_ID_HEADER = "x-amz-version-id";
+
+    // Payloads of versions after the first, under the path layout
+    private static final String VERSION_DIRECTORY = ".versions";
+
     private final ObjectRepository repository;
+    private final ObjectPayloadVersionRepository versionRepository;
     private final ObjectMapper mapper;
-    private final WebClient webClient;
+    private final BucketServiceClient bucketServiceClient;
     private final ObjectEventService objectEventService;
-
-    @Value("${storage.location}")
-    private String storageLocation;
-
-    @Value("${bucket.service.url:http://localhost:8085}")
-    private String bucketServiceUrl;
+    private final StorageBackend storageBackend;
+    private final BlobStore blobStore;
+    private final SegmentStore segmentStore;
+    private final ObjectProvider<HotObjectCache> hotObjectCache;
+    private final ObjectProvider<ObjectLocationIndex> locationIndex;
+    private final TransactionTemplate transactionTemplate;
+    private final long maxPutSize;
 
     public ObjectService(
             ObjectRepository repository,
+            ObjectPayloadVersionRepository versionRepository,
             ObjectMapper mapper,
-            WebClient.Builder webClientBuilder,
-            ObjectEventService objectEventService
+            BucketServiceClient bucketServiceClient,
+            ObjectEventService objectEventService,
+            StorageBackend storageBackend,
+            BlobStore blobStore,
+            SegmentStore segmentStore,
+            ObjectProvider<HotObjectCache> hotObjectCache,
+            ObjectProvider<ObjectLocationIndex> locationIndex,
+            TransactionTemplate transactionTemplate,
+            @Value("${storage.put.max-object-size:5GB}") DataSize maxPutSize
     ) {
         this.repository = repository;
+        this.versionRepository = versionRepository;
         this.mapper = mapper;
-        this.webClient = webClientBuilder.build();
+        this.bucketServiceClient = bucketServiceClient;
         this.objectEventService = objectEventService;
+        this.storageBackend = storageBackend;
+        this.blobStore = blobStore;
+        this.segmentStore = segmentStore;
+        this.hotObjectCache = hotObjectCache;
+        this.locationIndex = locationIndex;
+        this.transactionTemplate = transactionTemplate;
+        this.maxPutSize = maxPutSize.toBytes();
     }
 
     public ObjectResponseDTO createObject(
@@ -70,64 +114,355 @@ public class ObjectService {
     ) throws IOException {
 
         BucketDTO bucketDTO = validateAndGetBucket(bucketName);
-        boolean versioningEnabled = bucketDTO.isVersioningEnabled();
-
-        // Always override request (never trust client)
-        request.setVersionEnabled(versioningEnabled);
 
         validateFileDetails(file);
 
         String fileName = file.getOriginalFilename();
-        // 3. DB-level object existence check
-        if (repository.existsByBucketNameAndFileName(bucketName, fileName)) {
+        ObjectEntity existing = findOverwriteTarget(bucketDTO, fileName);
+        String key = objectKey(bucketName, fileName);
+
+        // 5. Stream payload to a temp file, hashing on the way (single pass)
+        StoredFile staged = storageBackend.stage(key, file.getInputStream());
+
+        return persistStagedObject(
+                bucketDTO, userId, fileName, file.getContentType(), staged, key, existing, request
+        );
+    }
+
+    /**
+     * Single-request upload from a raw body (S3 PutObject). Bucket, name and
+     * declared length are checked before the body is read; the body is then
+     * streamed straight into the staging file next to its final location, so
+     * there is no multipart temp file and no second copy. No transaction (or
+     * connection) is held while the body streams in.
+     *
+     * @param contentLength declared length, or -1 for a chunked body
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ObjectResponseDTO putObject(
+            String bucketName,
+            String userId,
+            String fileName,
+            String contentType,
+            long contentLength,
+            InputStream body,
+            CreateObjectRequestDTO request
+    ) throws IOException {
+
+        BucketDTO bucketDTO = validateAndGetBucket(bucketName);
+        ObjectEntity existing = prepareUpload(bucketDTO, fileName, contentLength);
+        String key = objectKey(bucketName, fileName);
+
+        StoredFile staged = storageBackend.stage(key, body);
+        checkStagedSize(staged, contentLength);
+
+        try {
+            return transactionTemplate.execute(status -> {
+                try {
+                    return persistStagedObject(
+                            bucketDTO, userId, fileName, contentType, staged, key, existing, request
+                    );
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Checks a raw-body upload before its body is read, for a bucket the
+     * caller has already resolved and checked ownership of.
+     *
+     * @return the object the upload becomes a new version of, or {@code null}
+     */
+    @Transactional(readOnly = true)
+    public ObjectEntity prepareUpload(BucketDTO bucketDTO, String fileName, long contentLength) throws IOException {
+        validateFileName(fileName);
+        if (contentLength > maxPutSize) {
+            throw new InvalidRequestException(
+                    "Object exceeds " + maxPutSize + " bytes; use a multipart upload");
+        }
+        return findOverwriteTarget(bucketDTO, fileName);
+    }
+
+    /**
+     * Second half of a raw-body upload whose body was staged by the caller
+     * (see {@link #prepareUpload}): checks the received length and persists
+     * the object, or discards the staged payload.
+     */
+    public ObjectResponseDTO completeUpload(
+            BucketDTO bucketDTO,
+            String userId,
+            String fileName,
+            String contentType,
+            long contentLength,
+            StoredFile staged,
+            ObjectEntity existing,
+            CreateObjectRequestDTO request
+    ) throws IOException {
+        checkStagedSize(staged, contentLength);
+        return persistStagedObject(
+                bucketDTO, userId, fileName, contentType, staged, objectKey(bucketDTO.getBucketName(), fileName),
+                existing, request
+        );
+    }
+
+    private void checkStagedSize(StoredFile staged, long contentLength) {
+        if ((contentLength >= 0 && staged.size() != contentLength) || staged.size() > maxPutSize) {
+            storageBackend.discard(staged);
+            throw new InvalidRequestException(contentLength >= 0
+                    ? "Received " + staged.size() + " bytes, Content-Length was " + contentLength
+                    : "Object exceeds " + maxPutSize + " bytes; use a multipart upload");
+        }
+    }
+
+    /**
+     * Registers an object whose payload has already been staged by the caller
+     * (e.g. a completed multipart upload). The staged temp file is moved into
+     * the storage backend, or discarded if the object cannot be created.
+     */
+    public ObjectResponseDTO createObject(
+            String bucketName,
+            String userId,
+            String fileName,
+            String contentType,
+            StoredFile staged,
+            CreateObjectRequestDTO request
+    ) throws IOException {
+
+        BucketDTO bucketDTO;
+        ObjectEntity existing;
+        try {
+            bucketDTO = validateAndGetBucket(bucketName);
+            validateFileName(fileName);
+            existing = findOverwriteTarget(bucketDTO, fileName);
+        } catch (IOException | RuntimeException e) {
+            storageBackend.discard(staged);
+            throw e;
+        }
+
+        return persistStagedObject(
+                bucketDTO, userId, fileName, contentType, staged, objectKey(bucketName, fileName), existing, request
+        );
+    }
+
+    /**
+     * Fails fast if an object with this name could not be created in the
+     * bucket, without staging any payload.
+     */
+    @Transactional(readOnly = true)
+    public void validateNewObject(String bucketName, String fileName) {
+        BucketDTO bucketDTO = validateAndGetBucket(bucketName);
+        validateFileName(fileName);
+        if (!bucketDTO.isVersioningEnabled() && repository.existsByBucketNameAndFileName(bucketName, fileName)) {
             throw new InvalidRequestException("Object already exists");
         }
+    }
 
-        // 4. Prepare filesystem paths
-        Path bucketPath = Paths.get(storageLocation, bucketName);
-        Files.createDirectories(bucketPath);
+    /**
+     * Returns the object that an upload of {@code fileName} becomes a new
+     * version of, or {@code null} if it creates a new object. Existing names
+     * are only accepted in buckets with versioning enabled.
+     */
+    private ObjectEntity findOverwriteTarget(BucketDTO bucketDTO, String fileName) throws IOException {
+        // 3. DB-level object existence check
+        Optional<ObjectEntity> existing =
+                repository.findByBucketNameAndFileName(bucketDTO.getBucketName(), fileName);
+        if (existing.isPresent()) {
+            if (!bucketDTO.isVersioningEnabled()) {
+                throw new InvalidRequestException("Object already exists");
+            }
+            return existing.get();
+        }
 
-        Path filePath = bucketPath.resolve(fileName);
-        if (Files.exists(filePath)) {
+        // 4. Storage-level existence check
+        String key = objectKey(bucketDTO.getBucketName(), fileName);
+        if (storageBackend.stat(storageBackend.locate(key)).isPresent()) {
             throw new InvalidRequestException("File already exists in storage");
         }
+        return null;
+    }
+
+    public static String objectKey(String bucketName, String fileName) {
+        return bucketName + "/" + fileName;
+    }
+
+    /** Key of a later version's payload under the path layout; never collides with object keys. */
+    private static String versionKey(ObjectEntity entity, String versionId) {
+        return VERSION_DIRECTORY + "/" + entity.getBucketName() + "/" + entity.getId() + "/" + versionId;
+    }
+
+    private ObjectResponseDTO persistStagedObject(
+            BucketDTO bucketDTO,
+            String userId,
+            String fileName,
+            String contentType,
+            StoredFile staged,
+            String key,
+            ObjectEntity existing,
+            CreateObjectRequestDTO request
+    ) throws IOException {
+
+        // Always override request (never trust client)
+        request.setVersionEnabled(bucketDTO.isVersioningEnabled());
+
+        if (existing != null) {
+            return storeNewVersion(existing, userId, contentType, staged, request);
+        }
 
-        // 5. Persist object metadata
-        ObjectEntity entity = ObjectEntity.builder()
-                .id(UUID.randomUUID().toString())
-                .bucketName(bucketName)
-                .fileName(fileName)
-                .size(file.getSize())
-                .checksum(calculateChecksum(file.getBytes()))
-                .storagePath(filePath.toString())
-                .contentType(setContentType(file.getContentType()))
-                .ownerId(userId)
-                .versioningEnabled(bucketDTO.isVersioningEnabled())
-                .build();
+        try {
+            String location = placePayload(staged, key);
 
-        repository.save(entity);
+            // 6. Persist object metadata
+            String versionId = UUID.randomUUID().toString();
+            // save() merges; the returned instance carries the generated uploadedAt
+            ObjectEntity entity = repository.save(ObjectEntity.builder()
+                    .id(UUID.randomUUID().toString())
+                    .bucketName(bucketDTO.getBucketName())
+                    .fileName(fileName)
+                    .size(staged.size())
+                    .checksum(staged.checksum())
+                    .storagePath(location)
+                    .contentType(setContentType(contentType))
+                    .ownerId(userId)
+                    .versioningEnabled(bucketDTO.isVersioningEnabled())
+                    .versionId(versionId)
+                    .latestVersion(1)
+                    .build());
 
-        // 6. Publish event (bucket-driven versioning)
-        objectEventService.publishObjectCreatedEvent(entity, userId, request);
+            versionRepository.save(currentVersionOf(entity, 1));
+            locationIndex.ifAvailable(index -> index.putAfterCommit(entity));
 
-        // 7. Write file LAST (side effect)
-        Files.copy(file.getInputStream(), filePath);
+            // 7. Publish event (bucket-driven versioning)
+            objectEventService.publishObjectCreatedEvent(entity, userId, request);
 
-        return mapper.toDTO(entity);
+            // 8. Move file into place LAST (side effect)
+            commitPayload(staged, key, location);
+
+            return mapper.toDTO(entity);
+        } catch (IOException | RuntimeException e) {
+            storageBackend.discard(staged);
+            throw e;
+        }
     }
 
-    private static void validateFileDetails(MultipartFile file) {
-        String fileName = StringUtils.cleanPath(
-                Objects.requireNonNull(file.getOriginalFilename())
-        );
+    /**
+     * Makes a staged payload the current version of an existing object.
+     * Earlier versions keep their own payloads (shared blobs under the
+     * content-addressed layout), so nothing is copied or overwritten. As
+     * with S3, the new upload's description, tags and access level replace
+     * the old ones.
+     */
+    private ObjectResponseDTO storeNewVersion(
+            ObjectEntity existing,
+            String userId,
+            String contentType,
+            StoredFile staged,
+            CreateObjectRequestDTO request
+    ) throws IOException {
+        try {
+            ObjectEntity entity = repository.findByIdForUpdate(existing.getId())
+                    .orElseThrow(() -> new ResourceNotFoundException("Object not found"));
 
-        if (!StringUtils.hasText(fileName)) {
-            throw new InvalidRequestException("File name is required");
+            if (entity.getVersionId() == null) {
+                // Stored before versions were kept: its payload becomes version 1
+                versionRepository.save(currentVersionOf(entity, 1));
+                entity.setLatestVersion(1);
+            }
+
+            int versionNumber = entity.getLatestVersion() + 1;
+            String versionId = UUID.randomUUID().toString();
+            String key = versionKey(entity, versionId);
+            String location = placePayload(staged, key);
+
+            entity.setVersionId(versionId);
+            entity.setLatestVersion(versionNumber);
+            entity.setSize(staged.size());
+            entity.setChecksum(staged.checksum());
+            entity.setContentType(setContentType(contentType));
+            entity.setStoragePath(location);
+            entity.setLastModified(Instant.now());
+            versionRepository.save(currentVersionOf(entity, versionNumber));
+            locationIndex.ifAvailable(index -> index.putAfterCommit(entity));
+
+            objectEventService.publishObjectUpdatedEvent(
+                    entity,
+                    userId,
+                    UpdateObjectRequestDTO.builder()
+                            .description(request.getDescription())
+                            .tags(request.getTags())
+                            .accessLevel(request.getAccessLevel() != null ? request.getAccessLevel().name() : null)
+                            .build(),
+                    true
+            );
+
+            // Move file into place LAST (side effect)
+            commitPayload(staged, key, location);
+
+            log.info(
+                    "Stored version [v{}] of object [{}] in bucket [{}]",
+                    versionNumber, entity.getFileName(), entity.getBucketName()
+            );
+            return mapper.toDTO(entity);
+        } catch (IOException | RuntimeException e) {
+            storageBackend.discard(staged);
+            throw e;
+        }
+    }
+
+    /**
+     * Location the staged payload will be stored at. The content-addressed
+     * layout keys it by hash; small payloads are packed into a segment right
+     * away (a rolled back upload leaves a dead needle for compaction).
+     */
+    private String placePayload(StoredFile staged, String key) throws IOException {
+        if (blobStore.isEnabled()) {
+            return blobStore.locationFor(staged);
+        }
+        if (segmentStore.accepts(staged)) {
+            return segmentStore.append(staged);
+        }
+        return storageBackend.locate(key);
+    }
+
+    /** Moves the staged payload into place; packed payloads already are. */
+    private void commitPayload(StoredFile staged, String key, String location) throws IOException {
+        if (blobStore.isEnabled()) {
+            blobStore.store(staged);
+        } else if (!segmentStore.isSegment(location)) {
+            storageBackend.commit(staged, key, false);
         }
+    }
+
+    /** Version row for the object's current payload. */
+    private static ObjectPayloadVersionEntity currentVersionOf(ObjectEntity entity, int versionNumber) {
+        return ObjectPayloadVersionEntity.builder()
+                .id(entity.getVersionId() != null ? entity.getVersionId() : UUID.randomUUID().toString())
+                .objectId(entity.getId())
+                .versionNumber(versionNumber)
+                .size(entity.getSize())
+                .checksum(entity.getChecksum())
+                .contentType(entity.getContentType())
+                .storagePath(entity.getStoragePath())
+                .build();
+    }
+
+    private static void validateFileDetails(MultipartFile file) {
+        validateFileName(file.getOriginalFilename());
 
         if (file.isEmpty()) {
             throw new InvalidRequestException("File is empty");
         }
+    }
+
+    private static void validateFileName(String originalFileName) {
+        if (!StringUtils.hasText(originalFileName)) {
+            throw new InvalidRequestException("File name is required");
+        }
+
+        String fileName = StringUtils.cleanPath(originalFileName);
 
         if (fileName.contains("..")) {
             throw new InvalidRequestException("Invalid file name");
@@ -148,45 +483,371 @@ public class ObjectService {
 
         objectEventService.publishObjectUpdatedEvent(entity, userId, request, bucketDTO.isVersioningEnabled());
     }
-    public List<ObjectResponseDTO> listObjects(String bucketName, String userId) {
+    /**
+     * ListObjectsV2-style page of a bucket. Keys are read in byte order with
+     * keyset pagination on (bucket_name, file_name), so memory is bounded by
+     * {@code max-keys} regardless of bucket size. When a delimiter is given,
+     * keys sharing a prefix up to the next delimiter are rolled up into one
+     * common prefix. Keys of that group left in the current page are skipped
+     * in memory; when the page ends inside the group, the scan jumps past it
+     * and reads only a small probe page, since the next group may start
+     * right away.
+     */
+    @Transactional(readOnly = true)
+    public ListObjectsResponseDTO listObjects(
+            String bucketName,
+            String userId,
+            String prefix,
+            String delimiter,
+            Integer maxKeys,
+            String continuationToken,
+            String startAfter
+    ) {
         validateBucket(bucketName);
-        return repository.findAllByBucketName(bucketName)
-                .stream().map(mapper::toDTO).toList();
+
+        String keyPrefix = prefix == null ? "" : prefix;
+        String keyDelimiter = StringUtils.hasLength(delimiter) ? delimiter : null;
+        int limit = resolveMaxKeys(maxKeys);
+
+        ListPosition start = continuationToken != null
+                ? decodeContinuationToken(continuationToken)
+                : new ListPosition(startAfter == null ? "" : startAfter, null);
+        String cursor = start.cursor();
+        String keyPattern = escapeLike(keyPrefix) + "%";
+
+        List<ObjectResponseDTO> contents = new ArrayList<>();
+        List<String> commonPrefixes = new ArrayList<>();
+        // Carried over from the previous page so a group spanning the boundary is not listed twice
+        String lastCommonPrefix = start.lastCommonPrefix();
+        boolean truncated = false;
+
+        int fetchSize = limit + 1;
+        scan:
+        while (true) {
+            List<ObjectEntity> page = repository.findPageAfter(bucketName, keyPrefix, keyPattern, cursor, fetchSize);
+
+            boolean inCommonPrefix = false;
+            for (ObjectEntity entity : page) {
+                String key = entity.getFileName();
+                String commonPrefix = commonPrefix(key, keyPrefix, keyDelimiter);
+
+                if (commonPrefix != null && commonPrefix.equals(lastCommonPrefix)) {
+                    cursor = key;
+                    inCommonPrefix = true;
+                    continue;
+                }
+                if (contents.size() + commonPrefixes.size() == limit) {
+                    truncated = true;
+                    break scan;
+                }
+                if (commonPrefix == null) {
+                    contents.add(mapper.toDTO(entity));
+                    inCommonPrefix = false;
+                } else {
+                    commonPrefixes.add(commonPrefix);
+                    lastCommonPrefix = commonPrefix;
+                    inCommonPrefix = true;
+                }
+                cursor = key;
+            }
+
+            if (page.size() < fetchSize) {
+                break;
+            }
+            int remaining = limit - contents.size() - commonPrefixes.size() + 1;
+            if (inCommonPrefix) {
+                cursor = skipPast(cursor, lastCommonPrefix);
+                fetchSize = Math.min(remaining, PREFIX_PROBE_SIZE);
+            } else {
+                fetchSize = remaining;
+            }
+        }
+
+        log.debug(
+                "Listed bucket [{}] prefix [{}]: {} keys, {} common prefixes, truncated={}",
+                bucketName, keyPrefix, contents.size(), commonPrefixes.size(), truncated
+        );
+
+        return new ListObjectsResponseDTO(
+                bucketName,
+                keyPrefix,
+                keyDelimiter,
+                limit,
+                contents.size() + commonPrefixes.size(),
+                truncated,
+                continuationToken,
+                truncated
+                        ? encodeContinuationToken(new ListPosition(skipPast(cursor, lastCommonPrefix), lastCommonPrefix))
+                        : null,
+                contents,
+                commonPrefixes
+        );
     }
 
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
     public ObjectResponseDTO getObject(String bucketName, String objectName, String userId) {
         validateBucket(bucketName);
+        Optional<IndexedObject> indexed = findIndexed(bucketName, objectName);
+        if (indexed.isPresent()) {
+            return mapper.toDTO(indexed.get());
+        }
         return repository.findByBucketNameAndFileName(bucketName, objectName)
                 .map(mapper::toDTO)
                 .orElseThrow(() -> new ResourceNotFoundException("Object not found"));
     }
 
-    public ResponseEntity<Resource> downloadObject(String bucketName, String objectName) {
+    /**
+     * Serves the object body, or the body of an earlier version when
+     * {@code versionId} is given. Conditional requests ({@code If-None-Match},
+     * {@code If-Modified-Since}) and byte ranges (single and multi-range, 206)
+     * are resolved by Spring MVC from the ETag/Last-Modified validators set
+     * here. A stale {@code If-Range} validator downgrades the response to the
+     * full body, as required by RFC 9110.
+     * <p>
+     * No transaction is opened up front, so a download answered from the
+     * location index never takes a database connection.
+     */
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+    public ResponseEntity<Resource> downloadObject(
+            String bucketName,
+            String objectName,
+            String versionId,
+            String ifRange
+    ) throws IOException {
         log.info("Downloading object '{}' from bucket '{}'", objectName, bucketName);
-        validateBucket(bucketName);
+        StoredPayload payload = resolvePayload(validateAndGetBucket(bucketName), objectName, versionId);
+        String location = payload.location();
+
+        // Small hot objects come from memory, without touching the disk
+        HotObjectCache cache = hotObjectCache.getIfAvailable();
+        Resource cached = cache != null ? cache.get(bucketName, payload) : null;
+        if (cached == null) {
+            requireOnStorage(payload);
+        }
+
+        // Spring MVC applies Range only to non-stream resources, so a plain
+        // stream resource forces a full 200 response when If-Range is stale.
+        Resource resource;
+        if (ifRange == null || isRangeValidatorCurrent(ifRange, payload)) {
+            resource = cached != null ? cached : storageBackend.get(location);
+        } else {
+            resource = new InputStreamResource(cached != null
+                    ? cached.getInputStream()
+                    : storageBackend.getRange(location, 0, payload.size()));
+        }
+
+        return ResponseEntity.ok()
+                .headers(objectHeaders(payload))
+                .header(
+                        HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"" + payload.fileName() + "\""
+                )
+                .body(resource);
+    }
+
+    /** Headers-only variant of {@link #downloadObject} for HEAD requests. */
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+    public ResponseEntity<Void> headObject(String bucketName, String objectName, String versionId) throws IOException {
+        StoredPayload payload = findStoredPayload(bucketName, objectName, versionId);
+
+        return ResponseEntity.ok()
+                .headers(objectHeaders(payload))
+                .contentLength(payload.size())
+                .build();
+    }
+
+    /** Versions of the object's content, newest first. */
+    @Transactional(readOnly = true)
+    public List<ObjectPayloadVersionResponseDTO> listVersions(String bucketName, String objectName) {
+        ObjectEntity entity = findObject(bucketName, objectName);
+
+        if (entity.getVersionId() == null) {
+            // Stored before versions were kept: the payload is the only version
+            return List.of(new ObjectPayloadVersionResponseDTO(
+                    null, 1, entity.getSize(), entity.getChecksum(),
+                    entity.getContentType(), entity.getUploadedAt(), true
+            ));
+        }
+        return versionRepository.findByObjectIdOrderByVersionNumberDesc(entity.getId())
+                .stream()
+                .map(version -> new ObjectPayloadVersionResponseDTO(
+                        version.getId(),
+                        version.getVersionNumber(),
+                        version.getSize(),
+                        version.getChecksum(),
+                        version.getContentType(),
+                        version.getCreatedAt(),
+                        version.getId().equals(entity.getVersionId())
+                ))
+                .toList();
+    }
+
+    /**
+     * Makes an earlier version current again. Only the object row's pointer
+     * and descriptors change; no payload is copied. The OBJECT_UPDATED event
+     * carries the restored version id, so metadata-service activates the
+     * metadata version recorded for that payload.
+     */
+    public ObjectResponseDTO restoreVersion(String bucketName, String objectName, String versionId, String userId) {
+        ObjectEntity entity = repository.findByIdForUpdate(findObject(bucketName, objectName).getId())
+                .orElseThrow(() -> new ResourceNotFoundException("Object not found: " + objectName));
+        ObjectPayloadVersionEntity version = versionRepository
+                .findByIdAndObjectId(versionId, entity.getId())
+                .orElseThrow(() -> new ResourceNotFoundException("Version not found: " + versionId));
+
+        entity.setVersionId(version.getId());
+        entity.setSize(version.getSize());
+        entity.setChecksum(version.getChecksum());
+        entity.setContentType(version.getContentType());
+        entity.setStoragePath(version.getStoragePath());
+        entity.setLastModified(Instant.now());
+        locationIndex.ifAvailable(index -> index.putAfterCommit(entity));
+        objectEventService.publishObjectRestoredEvent(entity, userId);
+
+        log.info(
+                "User [{}] restored object [{}] in bucket [{}] to version [v{}]",
+                userId, objectName, bucketName, version.getVersionNumber()
+        );
+        return mapper.toDTO(entity);
+    }
+
+    /** Where and what a download reads: the current payload or one version of it. */
+    public record StoredPayload(
+            String fileName,
+            String versionId,
+            String location,
+            long size,
+            String checksum,
+            String contentType,
+            Instant lastModified
+    ) {
+    }
+
+    private StoredPayload findStoredPayload(
+            String bucketName,
+            String objectName,
+            String versionId
+    ) throws IOException {
+        return findStoredPayload(validateAndGetBucket(bucketName), objectName, versionId);
+    }
+
+    /** Payload lookup in a bucket the caller has already resolved and checked ownership of. */
+    @Transactional(readOnly = true)
+    public StoredPayload findStoredPayload(
+            BucketDTO bucketDTO,
+            String objectName,
+            String versionId
+    ) throws IOException {
+        StoredPayload payload = resolvePayload(bucketDTO, objectName, versionId);
+        requireOnStorage(payload);
+        return payload;
+    }
+
+    private StoredPayload resolvePayload(BucketDTO bucketDTO, String objectName, String versionId) {
+        Optional<IndexedObject> indexed = findIndexed(bucketDTO.getBucketName(), objectName);
+        if (indexed.isPresent() && (versionId == null || versionId.equals(indexed.get().versionId()))) {
+            IndexedObject object = indexed.get();
+            return new StoredPayload(
+                    object.fileName(),
+                    object.versionId(),
+                    object.storagePath(),
+                    object.size(),
+                    object.checksum(),
+                    object.contentType(),
+                    object.lastModified() != null ? object.lastModified() : object.uploadedAt()
+            );
+        }
+
         ObjectEntity entity = repository
+                .findByBucketNameAndFileName(bucketDTO.getBucketName(), objectName)
+                .orElseThrow(() -> new ResourceNotFoundException("Object not found: " + objectName));
+
+        StoredPayload payload;
+        if (versionId == null || versionId.equals(entity.getVersionId())) {
+            payload = new StoredPayload(
+                    entity.getFileName(),
+                    entity.getVersionId(),
+                    entity.getStoragePath(),
+                    entity.getSize(),
+                    entity.getChecksum(),
+                    entity.getContentType(),
+                    entity.getLastModified() != null ? entity.getLastModified() : entity.getUploadedAt()
+            );
+        } else {
+            ObjectPayloadVersionEntity version = versionRepository
+                    .findByIdAndObjectId(versionId, entity.getId())
+                    .orElseThrow(() -> new ResourceNotFoundException("Version not found: " + versionId));
+            payload = new StoredPayload(
+                    entity.getFileName(),
+                    version.getId(),
+                    version.getStoragePath(),
+                    version.getSize(),
+                    version.getChecksum(),
+                    version.getContentType(),
+                    version.getCreatedAt()
+            );
+        }
+
+        return payload;
+    }
+
+    private void requireOnStorage(StoredPayload payload) throws IOException {
+        if (storageBackend.stat(payload.location()).isEmpty()) {
+            throw new ResourceNotFoundException("File missing on storage");
+        }
+    }
+
+    /** Current state from the location index, when enabled and holding the object. */
+    private Optional<IndexedObject> findIndexed(String bucketName, String objectName) {
+        ObjectLocationIndex index = locationIndex.getIfAvailable();
+        return index != null ? index.find(bucketName, objectName) : Optional.empty();
+    }
+
+    private ObjectEntity findObject(String bucketName, String objectName) {
+        validateBucket(bucketName);
+        return repository
                 .findByBucketNameAndFileName(bucketName, objectName)
                 .orElseThrow(() ->
                         new ResourceNotFoundException(
                                 "Object not found: " + objectName
                         )
                 );
+    }
 
-        Path filePath = Paths.get(entity.getStoragePath());
-        if (!Files.exists(filePath)) {
-            throw new ResourceNotFoundException("File missing on storage");
+    public static HttpHeaders objectHeaders(StoredPayload payload) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.parseMediaType(setContentType(payload.contentType())));
+        headers.setETag(quoteETag(payload.checksum()));
+        headers.setLastModified(payload.lastModified());
+        headers.set(HttpHeaders.ACCEPT_RANGES, "bytes");
+        if (payload.versionId() != null) {
+            headers.set(VERSION_ID_HEADER, payload.versionId());
         }
-        Resource resource = new FileSystemResource(filePath);
-        String contentType = setContentType(entity.getContentType());
+        return headers;
+    }
 
-        return ResponseEntity.ok()
-                .header(
-                        HttpHeaders.CONTENT_DISPOSITION,
-                        "attachment; filename=\"" + entity.getFileName() + "\""
-                )
-                .contentType(MediaType.parseMediaType(contentType))
-                .contentLength(entity.getSize())
-                .body(resource);
+    public static boolean isRangeValidatorCurrent(String ifRange, StoredPayload payload) {
+        String validator = ifRange.trim();
+        if (validator.startsWith("\"")) {
+            return validator.equals(quoteETag(payload.checksum()));
+        }
+        if (validator.startsWith("W/")) {
+            // weak validators never match If-Range
+            return false;
+        }
+        try {
+            long since = ZonedDateTime
+                    .parse(validator, DateTimeFormatter.RFC_1123_DATE_TIME)
+                    .toInstant()
+                    .getEpochSecond();
+            return since == payload.lastModified().getEpochSecond();
+        } catch (DateTimeParseException e) {
+            return false;
+        }
+    }
+
+    private static String quoteETag(String checksum) {
+        return "\"" + checksum + "\"";
     }
 
     private static String setContentType(String entity) {
@@ -197,56 +858,102 @@ public class ObjectService {
         return contentType;
     }
 
+    private static int resolveMaxKeys(Integer maxKeys) {
+        if (maxKeys == null) {
+            return MAX_LIST_KEYS;
+        }
+        if (maxKeys < 1) {
+            throw new InvalidRequestException("max-keys must be positive");
+        }
+        return Math.min(maxKeys, MAX_LIST_KEYS);
+    }
 
-    private void validateBucket(String bucketName) {
-        webClient.get()
-                .uri(bucketServiceUrl + "/buckets/{name}", bucketName)
-                .retrieve()
-                .toBodilessEntity()
-                .block();
+    /** Key prefix up to and including the first delimiter after {@code prefix}, if any. */
+    private static String commonPrefix(String key, String prefix, String delimiter) {
+        if (delimiter == null) {
+            return null;
+        }
+        int index = key.indexOf(delimiter, prefix.length());
+        return index < 0 ? null : key.substring(0, index + delimiter.length());
     }
 
-    private BucketDTO validateAndGetBucket(String bucketName) {
+    /**
+     * Moves a cursor inside {@code commonPrefix} to the skip marker after it;
+     * keys of the group sorting above the marker are still skipped in memory.
+     */
+    private static String skipPast(String cursor, String commonPrefix) {
+        if (commonPrefix == null || !cursor.startsWith(commonPrefix)) {
+            return cursor;
+        }
+        String marker = commonPrefix + Character.MAX_VALUE;
+        return cursor.compareTo(marker) < 0 ? marker : cursor;
+    }
 
-        ApiResponse<BucketDTO> response = webClient.get()
-                .uri(bucketServiceUrl + "/buckets/{name}", bucketName)
-                .retrieve()
-                .onStatus(
-                        HttpStatusCode::is4xxClientError,
-                        r -> Mono.error(new ResourceNotFoundException("Bucket not found: " + bucketName))
-                )
-                .bodyToMono(new ParameterizedTypeReference<ApiResponse<BucketDTO>>() {})
-                .block();
+    private static String escapeLike(String value) {
+        return value
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+    }
 
-        if (response == null || response.getData() == null) {
-            throw new ResourceNotFoundException("Bucket not found: " + bucketName);
-        }
+    /** Where a listing resumes: after {@code cursor}, skipping keys grouped under {@code lastCommonPrefix}. */
+    private record ListPosition(String cursor, String lastCommonPrefix) {
+    }
 
-        return response.getData();
+    private static String encodeContinuationToken(ListPosition position) {
+        String token = encodeTokenPart(position.cursor());
+        return position.lastCommonPrefix() == null
+                ? token
+                : token + "." + encodeTokenPart(position.lastCommonPrefix());
     }
 
-    private String calculateChecksum(byte[] data) {
+    private static ListPosition decodeContinuationToken(String token) {
+        int separator = token.indexOf('.');
         try {
-            MessageDigest md = MessageDigest.getInstance("SHA-256");
-            return Base64.getEncoder().encodeToString(md.digest(data));
-        } catch (Exception e) {
-            return "checksum-error";
+            return separator < 0
+                    ? new ListPosition(decodeTokenPart(token), null)
+                    : new ListPosition(
+                            decodeTokenPart(token.substring(0, separator)),
+                            decodeTokenPart(token.substring(separator + 1)));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRequestException("Invalid continuation token");
         }
     }
 
-    public void updateObjectsByBucket(String bucketName, String userId, boolean versioningEnabled ) {
+    private static String encodeTokenPart(String value) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
 
-        UpdateObjectRequestDTO request = new UpdateObjectRequestDTO();
-        repository.findAllByBucketName(bucketName)
-                .stream()
-                .forEach(entity ->
-                        objectEventService.publishObjectUpdatedEvent(
-                                entity,
-                                userId,
-                                request,
-                                versioningEnabled
-                        )
-                );
+    private static String decodeTokenPart(String part) {
+        return new String(Base64.getUrlDecoder().decode(part), StandardCharsets.UTF_8);
+    }
+
+    private void validateBucket(String bucketName) {
+        validateAndGetBucket(bucketName);
+    }
+
+    /**
+     * Resolves the bucket through the cached bucket-service client. Because
+     * cache entries are shared across users, ownership is re-checked here
+     * the same way bucket-service scopes its lookup by owner.
+     */
+    private BucketDTO validateAndGetBucket(String bucketName) {
+        BucketDTO bucket = bucketServiceClient.getBucket(bucketName);
+
+        if (!Objects.equals(bucket.getOwnerId(), SecurityUtils.getCurrentUserId())) {
+            throw new ResourceNotFoundException("Bucket not found: " + bucketName);
+        }
+
+        return bucket;
+    }
+
+    /**
+     * Propagates a bucket versioning change to metadata-service as a single
+     * bucket-scoped event, applied there with set-based updates.
+     */
+    public void updateObjectsByBucket(String bucketName, String userId, boolean versioningEnabled) {
+        objectEventService.publishObjectsVersioningUpdatedEvent(bucketName, userId, versioningEnabled);
     }
 
 //    public void deleteObjectsByBucket(String bucketName, String userId) {
@@ -288,20 +995,46 @@ public class ObjectService {
         deleteObjectInternal(entity, userId);
     }
 
-    // bucket delete event
-    public void deleteObjectsByBucket(String bucketName, String userId) {
-        repository.findAllByBucketName(bucketName)
-                .forEach(entity -> deleteObjectInternal(entity, userId));
-    }
-
     private void deleteObjectInternal(ObjectEntity entity, String userId) {
+        // Every version's payload goes with the object
+        List<String> locations = findPayloadLocations(List.of(entity));
+        versionRepository.deleteAllByObjectIdIn(List.of(entity.getId()));
         repository.delete(entity);
-        try {
-            Files.deleteIfExists(Paths.get(entity.getStoragePath()));
-        } catch (IOException e) {
-            log.warn("Failed to delete file from storage: {}", entity.getStoragePath(), e);
+        locationIndex.ifAvailable(index ->
+                index.removeAfterCommit(entity.getBucketName(), List.of(entity.getFileName())));
+        for (String location : locations) {
+            if (blobStore.isBlob(location)) {
+                blobStore.release(location);
+            } else if (segmentStore.isSegment(location)) {
+                segmentStore.release(location);
+            } else {
+                try {
+                    storageBackend.delete(location);
+                } catch (IOException e) {
+                    log.warn("Failed to delete file from storage: {}", location, e);
+                }
+            }
         }
         objectEventService.publishObjectDeletedEvent(entity, userId);
     }
 
+    /**
+     * Every stored payload of the given objects: one per version, or the
+     * object's own location for objects stored before versions were kept.
+     * Each entry holds one blob reference under the content-addressed layout.
+     */
+    public List<String> findPayloadLocations(Collection<ObjectEntity> objects) {
+        Map<String, List<String>> byObject = new HashMap<>();
+        versionRepository.findAllByObjectIdIn(objects.stream().map(ObjectEntity::getId).toList())
+                .forEach(version -> byObject
+                        .computeIfAbsent(version.getObjectId(), id -> new ArrayList<>())
+                        .add(version.getStoragePath()));
+
+        List<String> locations = new ArrayList<>();
+        for (ObjectEntity object : objects) {
+            locations.addAll(byObject.getOrDefault(object.getId(), List.of(object.getStoragePath())));
+        }
+        return locations;
+    }
+
 }
@@ -0,0 +1,234 @@
+package com.s3.object.service;
+
+import com.s3.common.logging.LoggingUtil;
+import com.s3.object.index.ObjectLocationIndex;
+import com.s3.object.model.SegmentEntity;
+import com.s3.object.repository.ObjectPayloadVersionRepository;
+import com.s3.object.repository.ObjectRepository;
+import com.s3.object.repository.SegmentRepository;
+import com.s3.object.storage.SegmentLocation;
+import com.s3.object.storage.SegmentStore;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Reclaims the space of deleted payloads packed by {@link SegmentStore}.
+ * <p>
+ * A segment sealed at least {@code min-sealed-age} ago whose dead bytes
+ * reach {@code min-dead-ratio} of its size is compacted in one transaction
+ * that locks its row (replicas skip segments already locked): every
+ * payload still referenced by an object or version row is appended to the
+ * active segment and the rows are pointed at the copy. Needles nothing
+ * references, including those of rolled back uploads, are dropped; so is a
+ * copy whose rows were deleted meanwhile, after counting it dead in the
+ * active segment. The old file is deleted {@code delete-grace-period}
+ * later, so downloads that resolved the old location before the commit
+ * still complete, and only if no row points into it any more.
+ */
+@Service
+public class SegmentCompactionService {
+
+    private static final Logger log = LoggingUtil.getLogger(SegmentCompactionService.class);
+
+    // Segments per run, and moved objects re-read per query for the location index
+    private static final int BATCH_SIZE = 20;
+    private static final int INDEX_BATCH_SIZE = 1000;
+
+    private final SegmentRepository segmentRepository;
+    private final ObjectRepository objectRepository;
+    private final ObjectPayloadVersionRepository versionRepository;
+    private final SegmentStore segmentStore;
+    private final ObjectProvider<ObjectLocationIndex> locationIndex;
+    private final TransactionTemplate transactionTemplate;
+
+    private final double minDeadRatio;
+    private final Duration minSealedAge;
+    private final Duration deleteGracePeriod;
+    private final ExecutorService runner = Executors.newSingleThreadExecutor();
+    private final AtomicBoolean compacting = new AtomicBoolean();
+
+    public SegmentCompactionService(
+            SegmentRepository segmentRepository,
+            ObjectRepository objectRepository,
+            ObjectPayloadVersionRepository versionRepository,
+            SegmentStore segmentStore,
+            ObjectProvider<ObjectLocationIndex> locationIndex,
+            TransactionTemplate transactionTemplate,
+            @Value("${storage.segments.min-dead-ratio:0.5}") double minDeadRatio,
+            @Value("${storage.segments.min-sealed-age:15m}") Duration minSealedAge,
+            @Value("${storage.segments.delete-grace-period:5m}") Duration deleteGracePeriod
+    ) {
+        this.segmentRepository = segmentRepository;
+        this.objectRepository = objectRepository;
+        this.versionRepository = versionRepository;
+        this.segmentStore = segmentStore;
+        this.locationIndex = locationIndex;
+        this.transactionTemplate = transactionTemplate;
+        this.minDeadRatio = minDeadRatio;
+        this.minSealedAge = minSealedAge;
+        this.deleteGracePeriod = deleteGracePeriod;
+    }
+
+    // ----------------------------------------------------------------------
+    // RUNNER
+    // ----------------------------------------------------------------------
+
+    /**
+     * Seals abandoned segments, compacts eligible ones and deletes compacted
+     * files past their grace period, unless a run is still in progress.
+     * Runs even with packing disabled so existing segments keep shrinking.
+     */
+    @Scheduled(fixedDelayString = "${storage.segments.compaction-interval-ms:60000}")
+    public void poll() {
+        if (!compacting.compareAndSet(false, true)) {
+            return;
+        }
+        runner.execute(() -> {
+            try {
+                sealAbandoned();
+                segmentRepository.findCompactionCandidates(
+                        minDeadRatio,
+                        Instant.now().minus(minSealedAge),
+                        PageRequest.of(0, BATCH_SIZE)
+                ).forEach(this::runCompaction);
+                purgeCompacted();
+            } catch (RuntimeException e) {
+                log.error("Segment compaction runner failed", e);
+            } finally {
+                compacting.set(false);
+            }
+        });
+    }
+
+    /** Segments left open by a writer that stopped without sealing them. */
+    private void sealAbandoned() {
+        // Writers roll over after max-open-time; twice that leaves no doubt
+        Instant openedBefore = Instant.now().minus(segmentStore.getMaxOpenTime().multipliedBy(2));
+        for (SegmentEntity segment : segmentRepository.findAbandoned(openedBefore)) {
+            try {
+                Path path = Paths.get(segment.getPath());
+                long size = Files.size(path);
+                segmentStore.seal(segment.getId(), path, size);
+                log.info("Sealed abandoned segment [{}] at {} bytes", segment.getPath(), size);
+            } catch (NoSuchFileException e) {
+                log.warn("Abandoned segment [{}] has no file", segment.getPath());
+            } catch (IOException | RuntimeException e) {
+                log.warn("Could not seal abandoned segment [{}]", segment.getPath(), e);
+            }
+        }
+    }
+
+    private void runCompaction(String segmentId) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> compact(segmentId));
+        } catch (RuntimeException e) {
+            // Rows were not repointed; copies made so far are counted dead when the active segment is sealed
+            log.warn("Compaction of segment [{}] failed, will retry", segmentId, e);
+        }
+    }
+
+    private void purgeCompacted() {
+        for (SegmentEntity segment : segmentRepository.findCompactedBefore(Instant.now().minus(deleteGracePeriod))) {
+            Path path = Paths.get(segment.getPath());
+            try {
+                if (Boolean.TRUE.equals(transactionTemplate.execute(status -> reopenIfReferenced(segment.getId(), path)))) {
+                    continue;
+                }
+                Files.deleteIfExists(path);
+                transactionTemplate.executeWithoutResult(status -> segmentRepository.deleteById(segment.getId()));
+                log.info("Deleted compacted segment [{}]", segment.getPath());
+            } catch (IOException | RuntimeException e) {
+                log.warn("Could not delete compacted segment [{}]", segment.getPath(), e);
+            }
+        }
+    }
+
+    /**
+     * Hands a compacted segment back to compaction when rows still point
+     * into it (an upload that committed after the copy was taken), so its
+     * file is not deleted under them.
+     */
+    private boolean reopenIfReferenced(String segmentId, Path path) {
+        if (segmentStore.findLiveLocations(path).isEmpty()) {
+            return false;
+        }
+        segmentRepository.findByIdForUpdate(segmentId).ifPresent(segment -> segment.setCompactedAt(null));
+        log.warn("Compacted segment [{}] is still referenced; compacting it again", path);
+        return true;
+    }
+
+    // ----------------------------------------------------------------------
+    // COMPACTION
+    // ----------------------------------------------------------------------
+
+    private void compact(String segmentId) {
+        SegmentEntity segment = segmentRepository.claim(segmentId).orElse(null);
+        if (segment == null || segment.getCompactedAt() != null) {
+            return;
+        }
+        long started = System.nanoTime();
+        Path path = Paths.get(segment.getPath());
+
+        Set<String> live = segmentStore.findLiveLocations(path);
+
+        List<String> moved = new ArrayList<>(live.size());
+        long liveBytes = 0;
+        for (String location : live) {
+            SegmentLocation needle = SegmentLocation.parse(location);
+            String copy;
+            try {
+                copy = segmentStore.relocate(needle).toString();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            int repointed = versionRepository.updateStoragePath(location, copy)
+                    + objectRepository.updateStoragePath(location, copy);
+            if (repointed == 0) {
+                // Deleted since the scan; its release counted the old needle, not the copy
+                segmentStore.release(copy);
+                continue;
+            }
+            moved.add(copy);
+            liveBytes += SegmentStore.needleBytes(needle.length());
+        }
+        segment.setCompactedAt(Instant.now());
+
+        locationIndex.ifAvailable(index -> {
+            for (int from = 0; from < moved.size(); from += INDEX_BATCH_SIZE) {
+                objectRepository.findAllByStoragePathIn(moved.subList(from, Math.min(moved.size(), from + INDEX_BATCH_SIZE)))
+                        .forEach(index::putAfterCommit);
+            }
+        });
+
+        log.info(
+                "Compacted segment [{}]: kept {} payloads ({} of {} bytes) in {} ms",
+                path, moved.size(), liveBytes, segment.getSize(), (System.nanoTime() - started) / 1_000_000
+        );
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        runner.shutdownNow();
+    }
+}
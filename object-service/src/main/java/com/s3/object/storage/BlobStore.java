@@ -0,0 +1,171 @@
+package com.s3.object.storage;
+
+import com.s3.common.logging.LoggingUtil;
+import com.s3.object.model.BlobEntity;
+import com.s3.object.repository.BlobRepository;
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.Optional;
+
+/**
+ * Content-addressed payload store used when {@code storage.layout} is
+ * {@code content-addressed}.
+ * <p>
+ * Payloads are stored under the key {@code .blobs/ab/cd/<sha256-hex>} and
+ * are shared by every object with the same checksum; the {@code blobs} table
+ * counts the references. Reference changes and payload removal run under a
+ * per-hash advisory lock, so a concurrent upload of the same content cannot
+ * observe a blob whose payload is being removed.
+ */
+@Component
+public class BlobStore {
+
+    private static final Logger log = LoggingUtil.getLogger(BlobStore.class);
+
+    public static final String LAYOUT_PATH = "path";
+    public static final String LAYOUT_CONTENT_ADDRESSED = "content-addressed";
+
+    private static final String BLOB_DIRECTORY = ".blobs";
+
+    private final BlobRepository repository;
+    private final StorageBackend storageBackend;
+    private final TransactionTemplate ownTransaction;
+
+    @Value("${storage.layout:" + LAYOUT_PATH + "}")
+    private String layout;
+
+    public BlobStore(
+            BlobRepository repository,
+            StorageBackend storageBackend,
+            PlatformTransactionManager transactionManager
+    ) {
+        this.repository = repository;
+        this.storageBackend = storageBackend;
+        this.ownTransaction = new TransactionTemplate(transactionManager);
+        this.ownTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    public boolean isEnabled() {
+        return LAYOUT_CONTENT_ADDRESSED.equals(layout);
+    }
+
+    /** Storage location the given staged payload is kept at. */
+    public String locationFor(StoredFile staged) {
+        return storageBackend.locate(keyFor(toHex(staged.checksum())));
+    }
+
+    /**
+     * Adds a reference to the staged payload's blob. The staged file becomes
+     * the blob if it is the first reference and is discarded otherwise.
+     */
+    @Transactional
+    public String store(StoredFile staged) throws IOException {
+        String hash = toHex(staged.checksum());
+        String key = keyFor(hash);
+
+        repository.lockHash(hash);
+        repository.acquire(hash, staged.size());
+        int refCount = repository.findRefCount(hash);
+
+        // A first reference may find an orphan left by a rolled back upload
+        if (refCount == 1 || storageBackend.stat(storageBackend.locate(key)).isEmpty()) {
+            String location = storageBackend.commit(staged, key, true);
+            log.debug("Stored new blob [{}] ({} bytes)", hash, staged.size());
+            return location;
+        }
+
+        storageBackend.discard(staged);
+        log.debug("Deduplicated blob [{}], now {} references", hash, refCount);
+        return storageBackend.locate(key);
+    }
+
+    public boolean isBlob(String location) {
+        Path path = Paths.get(location).normalize();
+        int count = path.getNameCount();
+        if (count < 4 || !BLOB_DIRECTORY.equals(path.getName(count - 4).toString())) {
+            return false;
+        }
+        String hash = path.getFileName().toString();
+        return hash.length() == 64
+                && hash.startsWith(path.getName(count - 3).toString() + path.getName(count - 2));
+    }
+
+    /**
+     * Drops one reference and deletes the blob once nothing points at it.
+     * The file goes only after the surrounding transaction commits, so a
+     * rollback that restores the reference also keeps the payload.
+     */
+    @Transactional
+    public void release(String location) {
+        String hash = Paths.get(location).getFileName().toString();
+        Optional<BlobEntity> blob = repository.findForUpdate(hash);
+
+        if (blob.isEmpty()) {
+            log.warn("No reference record for blob [{}]", hash);
+            return;
+        }
+
+        BlobEntity entity = blob.get();
+        if (entity.getRefCount() > 1) {
+            entity.setRefCount(entity.getRefCount() - 1);
+            return;
+        }
+
+        repository.delete(entity);
+        afterCommit(() -> deleteIfUnreferenced(hash, location));
+    }
+
+    /** Skips the delete if an upload of the same content took a new reference meanwhile. */
+    private void deleteIfUnreferenced(String hash, String location) {
+        try {
+            ownTransaction.executeWithoutResult(status -> {
+                repository.lockHash(hash);
+                if (repository.existsById(hash)) {
+                    return;
+                }
+                try {
+                    storageBackend.delete(location);
+                    log.debug("Deleted unreferenced blob [{}]", hash);
+                } catch (IOException e) {
+                    log.warn("Failed to delete blob from storage: {}", location, e);
+                }
+            });
+        } catch (RuntimeException e) {
+            log.warn("Failed to delete blob from storage: {}", location, e);
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private static String keyFor(String hash) {
+        return BLOB_DIRECTORY + "/" + hash.substring(0, 2) + "/" + hash.substring(2, 4) + "/" + hash;
+    }
+
+    private static String toHex(String base64Checksum) {
+        return HexFormat.of().formatHex(Base64.getDecoder().decode(base64Checksum));
+    }
+}
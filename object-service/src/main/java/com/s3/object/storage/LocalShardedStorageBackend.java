@@ -0,0 +1,293 @@
+package com.s3.object.storage;
+
+import com.s3.common.logging.LoggingUtil;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.AbstractResource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+/**
+ * Local-disk backend that spreads keys over several mount points.
+ * <p>
+ * Each key is placed on the mount owning its position on a consistent-hash
+ * ring ({@code storage.virtual-nodes} points per mount), so objects of one
+ * bucket are striped across every disk and adding a mount only moves a
+ * proportional share of new placements. Existing objects are read from their
+ * recorded location and never move. With a single mount (the default,
+ * {@code storage.location}) keys resolve to the same paths as before.
+ * <p>
+ * Payloads packed by {@link SegmentStore} are read positionally from their
+ * segment file; their needles are only ever removed by compaction.
+ */
+@Component
+public class LocalShardedStorageBackend implements StorageBackend {
+
+    private static final Logger log = LoggingUtil.getLogger(LocalShardedStorageBackend.class);
+
+    private final ObjectFileWriter fileWriter;
+
+    @Value("${storage.mounts:${storage.location}}")
+    private String[] mountPaths;
+
+    @Value("${storage.virtual-nodes:128}")
+    private int virtualNodes;
+
+    private final TreeMap<Long, Path> ring = new TreeMap<>();
+
+    public LocalShardedStorageBackend(ObjectFileWriter fileWriter) {
+        this.fileWriter = fileWriter;
+    }
+
+    @PostConstruct
+    void initRing() throws IOException {
+        List<Path> mounts = Arrays.stream(mountPaths)
+                .map(String::trim)
+                .filter(path -> !path.isEmpty())
+                .distinct()
+                .map(Paths::get)
+                .toList();
+
+        if (mounts.isEmpty()) {
+            throw new IllegalStateException("At least one storage mount is required");
+        }
+
+        for (Path mount : mounts) {
+            Files.createDirectories(mount);
+            for (int i = 0; i < virtualNodes; i++) {
+                ring.put(hash(mount + "#" + i), mount);
+            }
+        }
+        log.info("Storage striped over {} mount(s): {}", mounts.size(), mounts);
+    }
+
+    @Override
+    public StoredFile stage(String key, InputStream in) throws IOException {
+        return fileWriter.stage(in, resolve(key).getParent());
+    }
+
+    @Override
+    public Mono<StoredFile> stage(String key, Flux<DataBuffer> content) {
+        return fileWriter.stage(content, resolve(key).getParent());
+    }
+
+    @Override
+    public String commit(StoredFile staged, String key, boolean replace) throws IOException {
+        Path target = resolve(key);
+        Files.createDirectories(target.getParent());
+
+        try {
+            move(staged, target, replace);
+        } catch (AtomicMoveNotSupportedException e) {
+            // Staged on another device (e.g. composed multipart parts)
+            StoredFile local = fileWriter.relocate(staged, target.getParent());
+            try {
+                move(local, target, replace);
+            } catch (IOException | RuntimeException ex) {
+                fileWriter.discard(local);
+                throw ex;
+            }
+        }
+        return target.toString();
+    }
+
+    @Override
+    public void discard(StoredFile staged) {
+        fileWriter.discard(staged);
+    }
+
+    @Override
+    public String locate(String key) {
+        return resolve(key).toString();
+    }
+
+    @Override
+    public Resource get(String location) {
+        SegmentLocation needle = SegmentLocation.parse(location);
+        return needle != null ? new NeedleResource(needle) : new FileSystemResource(Paths.get(location));
+    }
+
+    @Override
+    public InputStream getRange(String location, long offset, long length) throws IOException {
+        SegmentLocation needle = SegmentLocation.parse(location);
+        if (needle != null) {
+            long available = Math.max(0, needle.length() - offset);
+            return openRange(needle.segment(), needle.offset() + offset, Math.min(length, available));
+        }
+        return openRange(Paths.get(location), offset, length);
+    }
+
+    @Override
+    public boolean delete(String location) throws IOException {
+        if (SegmentLocation.parse(location) != null) {
+            log.warn("Not deleting packed payload [{}]; segments are reclaimed by compaction", location);
+            return false;
+        }
+        return Files.deleteIfExists(Paths.get(location));
+    }
+
+    @Override
+    public Optional<StorageStat> stat(String location) throws IOException {
+        SegmentLocation needle = SegmentLocation.parse(location);
+        Path path = needle != null ? needle.segment() : Paths.get(location);
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            if (needle != null) {
+                return attributes.size() < needle.offset() + needle.length()
+                        ? Optional.empty()
+                        : Optional.of(new StorageStat(needle.length(), attributes.lastModifiedTime().toInstant()));
+            }
+            return Optional.of(new StorageStat(
+                    attributes.size(),
+                    attributes.lastModifiedTime().toInstant()
+            ));
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        }
+    }
+
+    private static InputStream openRange(Path path, long offset, long length) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            channel.position(offset);
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+        return new RangeInputStream(Channels.newInputStream(channel), length);
+    }
+
+    private void move(StoredFile staged, Path target, boolean replace) throws IOException {
+        if (replace) {
+            fileWriter.replace(staged, target);
+        } else {
+            fileWriter.commit(staged, target);
+        }
+    }
+
+    private Path resolve(String key) {
+        return mountFor(key).resolve(key);
+    }
+
+    private Path mountFor(String key) {
+        Map.Entry<Long, Path> owner = ring.ceilingEntry(hash(key));
+        return (owner != null ? owner : ring.firstEntry()).getValue();
+    }
+
+    private static long hash(String value) {
+        try {
+            byte[] digest = MessageDigest.getInstance("MD5")
+                    .digest(value.getBytes(StandardCharsets.UTF_8));
+            return ByteBuffer.wrap(digest).getLong();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("MD5 not available", e);
+        }
+    }
+
+    /**
+     * A packed payload. Not a file resource, so downloads stream it from its
+     * offset instead of using sendfile on the whole segment.
+     */
+    private static final class NeedleResource extends AbstractResource {
+
+        private final SegmentLocation needle;
+
+        private NeedleResource(SegmentLocation needle) {
+            this.needle = needle;
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            return openRange(needle.segment(), needle.offset(), needle.length());
+        }
+
+        @Override
+        public boolean exists() {
+            return Files.exists(needle.segment());
+        }
+
+        @Override
+        public long contentLength() {
+            return needle.length();
+        }
+
+        @Override
+        public String getDescription() {
+            return "packed payload [" + needle + "]";
+        }
+    }
+
+    /** Caps the underlying stream at the requested range length. */
+    private static final class RangeInputStream extends FilterInputStream {
+
+        private long remaining;
+
+        private RangeInputStream(InputStream in, long length) {
+            super(in);
+            this.remaining = length;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int b = super.read();
+            if (b >= 0) {
+                remaining--;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int read = super.read(buffer, offset, (int) Math.min(length, remaining));
+            if (read > 0) {
+                remaining -= read;
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(Math.min(n, remaining));
+            remaining -= skipped;
+            return skipped;
+        }
+
+        @Override
+        public int available() throws IOException {
+            return (int) Math.min(super.available(), remaining);
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.s3.object.storage;
+
+import com.s3.common.logging.LoggingUtil;
+import org.slf4j.Logger;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Single-pass ingest of object payloads.
+ * <p>
+ * The incoming stream is hashed while it is copied to a temp file in the
+ * target directory, so the payload is never held in heap and is read once.
+ * {@link #commit} then renames the temp file into place atomically.
+ */
+@Component
+public class ObjectFileWriter {
+
+    private static final Logger log = LoggingUtil.getLogger(ObjectFileWriter.class);
+
+    private static final String TEMP_PREFIX = ".upload-";
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    public StoredFile stage(InputStream in, Path directory) throws IOException {
+        Files.createDirectories(directory);
+        Path tempPath = directory.resolve(TEMP_PREFIX + UUID.randomUUID() + TEMP_SUFFIX);
+
+        MessageDigest digest = newDigest();
+        try (DigestInputStream digestIn = new DigestInputStream(in, digest)) {
+            long size = Files.copy(digestIn, tempPath);
+            return new StoredFile(
+                    tempPath,
+                    size,
+                    Base64.getEncoder().encodeToString(digest.digest())
+            );
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(tempPath);
+            throw e;
+        }
+    }
+
+    /**
+     * Reactive counterpart of {@link #stage(InputStream, Path)}. Buffers are
+     * hashed in arrival order and written through an
+     * {@code AsynchronousFileChannel}, so neither the network nor the disk
+     * side parks a thread while the body streams in.
+     */
+    public Mono<StoredFile> stage(Flux<DataBuffer> content, Path directory) {
+        return Mono.defer(() -> {
+            Path tempPath = directory.resolve(TEMP_PREFIX + UUID.randomUUID() + TEMP_SUFFIX);
+            MessageDigest digest = newDigest();
+            AtomicLong size = new AtomicLong();
+
+            Flux<DataBuffer> hashed = content.doOnNext(buffer -> {
+                // readable views; the buffer's own read position is untouched
+                try (DataBuffer.ByteBufferIterator buffers = buffer.readableByteBuffers()) {
+                    buffers.forEachRemaining(byteBuffer -> {
+                        size.addAndGet(byteBuffer.remaining());
+                        digest.update(byteBuffer);
+                    });
+                }
+            });
+
+            return Mono.fromCallable(() -> Files.createDirectories(directory))
+                    .then(DataBufferUtils.write(hashed, tempPath, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE))
+                    .then(Mono.fromCallable(() -> new StoredFile(
+                            tempPath,
+                            size.get(),
+                            Base64.getEncoder().encodeToString(digest.digest())
+                    )))
+                    .doOnError(e -> discard(new StoredFile(tempPath, size.get(), null)))
+                    .doOnCancel(() -> discard(new StoredFile(tempPath, size.get(), null)));
+        });
+    }
+
+    /**
+     * Concatenates already stored parts into a single staged file, hashing the
+     * combined payload in the same pass.
+     */
+    public StoredFile compose(List<Path> parts, Path directory) throws IOException {
+        Files.createDirectories(directory);
+        Path tempPath = directory.resolve(TEMP_PREFIX + UUID.randomUUID() + TEMP_SUFFIX);
+
+        MessageDigest digest = newDigest();
+        long size = 0;
+        try (OutputStream out = Files.newOutputStream(tempPath, StandardOpenOption.CREATE_NEW)) {
+            for (Path part : parts) {
+                try (InputStream in = new DigestInputStream(Files.newInputStream(part), digest)) {
+                    size += in.transferTo(out);
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(tempPath);
+            throw e;
+        }
+        return new StoredFile(
+                tempPath,
+                size,
+                Base64.getEncoder().encodeToString(digest.digest())
+        );
+    }
+
+    /**
+     * Copies a staged file into {@code directory} (typically another device)
+     * and drops the original; size and checksum carry over unchanged.
+     */
+    public StoredFile relocate(StoredFile file, Path directory) throws IOException {
+        Files.createDirectories(directory);
+        Path tempPath = directory.resolve(TEMP_PREFIX + UUID.randomUUID() + TEMP_SUFFIX);
+        try {
+            Files.copy(file.tempPath(), tempPath);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(tempPath);
+            throw e;
+        }
+        discard(file);
+        return new StoredFile(tempPath, file.size(), file.checksum());
+    }
+
+    public void commit(StoredFile file, Path target) throws IOException {
+        Files.move(file.tempPath(), target, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /** Like {@link #commit} but overwrites an existing target. */
+    public void replace(StoredFile file, Path target) throws IOException {
+        Files.move(
+                file.tempPath(),
+                target,
+                StandardCopyOption.ATOMIC_MOVE,
+                StandardCopyOption.REPLACE_EXISTING
+        );
+    }
+
+    public void discard(StoredFile file) {
+        try {
+            Files.deleteIfExists(file.tempPath());
+        } catch (IOException e) {
+            log.warn("Failed to delete temp upload file: {}", file.tempPath(), e);
+        }
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
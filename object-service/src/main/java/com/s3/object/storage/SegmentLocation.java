@@ -0,0 +1,40 @@
+package com.s3.object.storage;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Location of a payload packed into a segment file by {@link SegmentStore}:
+ * {@code <segment path>#<offset>+<length>}, where {@code offset} is the
+ * first payload byte. The recorded location is the whole index entry, so
+ * reads need nothing but the string.
+ */
+public record SegmentLocation(Path segment, long offset, long length) {
+
+    private static final Pattern FORMAT = Pattern.compile("(.+)#(\\d{1,18})\\+(\\d{1,18})");
+
+    /** @return the parsed location, or {@code null} if {@code location} is not a segment location */
+    public static SegmentLocation parse(String location) {
+        Matcher matcher = FORMAT.matcher(location);
+        if (!matcher.matches()) {
+            return null;
+        }
+        // Kept as recorded: the segment row is looked up by this path
+        Path segment = Paths.get(matcher.group(1));
+        Path normalized = segment.normalize();
+        int count = normalized.getNameCount();
+        if (count < 2
+                || !SegmentStore.SEGMENT_DIRECTORY.equals(normalized.getName(count - 2).toString())
+                || !normalized.getFileName().toString().endsWith(SegmentStore.SEGMENT_SUFFIX)) {
+            return null;
+        }
+        return new SegmentLocation(segment, Long.parseLong(matcher.group(2)), Long.parseLong(matcher.group(3)));
+    }
+
+    @Override
+    public String toString() {
+        return segment + "#" + offset + "+" + length;
+    }
+}
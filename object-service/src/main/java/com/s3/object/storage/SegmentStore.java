@@ -0,0 +1,292 @@
+package com.s3.object.storage;
+
+import com.s3.common.logging.LoggingUtil;
+import com.s3.object.model.SegmentEntity;
+import com.s3.object.repository.ObjectPayloadVersionRepository;
+import com.s3.object.repository.ObjectRepository;
+import com.s3.object.repository.SegmentRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Packed storage for small payloads, enabled with
+ * {@code storage.segments.enabled}, so millions of tiny objects do not each
+ * cost a file and an inode.
+ * <p>
+ * Payloads up to {@code max-object-size} are appended, as needles of
+ * {@code [magic][length][payload]}, to this node's active segment file
+ * under {@code .segments/} (placed on the mounts like any other key). The
+ * returned {@link SegmentLocation} is recorded as the object's storage path
+ * and read back positionally by the backend. A segment is sealed once it
+ * reaches {@code max-segment-size} or has been open for
+ * {@code max-open-time}; deletes count dead bytes against it and
+ * {@link com.s3.object.service.SegmentCompactionService} rewrites segments
+ * that are mostly garbage.
+ * <p>
+ * Appends happen before the upload's transaction commits, so a rolled back
+ * upload leaves a needle nothing references and no delete ever counts.
+ * Sealing therefore recounts the segment: its dead bytes are everything
+ * not referenced by an object or version row. Uploads still in flight at
+ * that moment are counted dead too, so compaction leaves a segment alone
+ * until {@code min-sealed-age} after sealing, by when those uploads have
+ * committed or rolled back. The content-addressed layout takes precedence.
+ */
+@Component
+public class SegmentStore {
+
+    private static final Logger log = LoggingUtil.getLogger(SegmentStore.class);
+
+    public static final String SEGMENT_DIRECTORY = ".segments";
+    public static final String SEGMENT_SUFFIX = ".seg";
+
+    private static final int NEEDLE_MAGIC = 0x5333_4e44;   // "S3ND"
+    private static final int HEADER_BYTES = Integer.BYTES + Long.BYTES;
+
+    private final SegmentRepository repository;
+    private final ObjectRepository objectRepository;
+    private final ObjectPayloadVersionRepository versionRepository;
+    private final StorageBackend storageBackend;
+    private final TransactionTemplate ownTransaction;
+
+    private final boolean enabled;
+    private final long maxObjectSize;
+    private final long maxSegmentSize;
+    private final Duration maxOpenTime;
+
+    private ActiveSegment active;
+
+    private static final class ActiveSegment {
+        private final String id;
+        private final Path path;
+        private final FileChannel channel;
+        private final Instant openedAt = Instant.now();
+        private long size;
+
+        private ActiveSegment(String id, Path path, FileChannel channel) {
+            this.id = id;
+            this.path = path;
+            this.channel = channel;
+        }
+    }
+
+    public SegmentStore(
+            SegmentRepository repository,
+            ObjectRepository objectRepository,
+            ObjectPayloadVersionRepository versionRepository,
+            StorageBackend storageBackend,
+            PlatformTransactionManager transactionManager,
+            @Value("${storage.segments.enabled:false}") boolean enabled,
+            @Value("${storage.segments.max-object-size:64KB}") DataSize maxObjectSize,
+            @Value("${storage.segments.max-segment-size:1GB}") DataSize maxSegmentSize,
+            @Value("${storage.segments.max-open-time:1h}") Duration maxOpenTime
+    ) {
+        this.repository = repository;
+        this.objectRepository = objectRepository;
+        this.versionRepository = versionRepository;
+        this.storageBackend = storageBackend;
+        // Segment rows must survive the rollback of the upload that opened them
+        this.ownTransaction = new TransactionTemplate(transactionManager);
+        this.ownTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.enabled = enabled;
+        this.maxObjectSize = maxObjectSize.toBytes();
+        this.maxSegmentSize = maxSegmentSize.toBytes();
+        this.maxOpenTime = maxOpenTime;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public Duration getMaxOpenTime() {
+        return maxOpenTime;
+    }
+
+    /** Whether the staged payload is small enough to be packed. */
+    public boolean accepts(StoredFile staged) {
+        return enabled && staged.size() <= maxObjectSize;
+    }
+
+    /**
+     * Appends the staged payload to the active segment and discards the
+     * staged file.
+     *
+     * @return location of the packed payload
+     */
+    public String append(StoredFile staged) throws IOException {
+        SegmentLocation location;
+        try (FileChannel source = FileChannel.open(staged.tempPath(), StandardOpenOption.READ)) {
+            location = append(source, 0, staged.size());
+        }
+        storageBackend.discard(staged);
+        return location.toString();
+    }
+
+    /** Copies a packed payload into the active segment; used by compaction. */
+    public SegmentLocation relocate(SegmentLocation location) throws IOException {
+        try (FileChannel source = FileChannel.open(location.segment(), StandardOpenOption.READ)) {
+            return append(source, location.offset(), location.length());
+        }
+    }
+
+    public boolean isSegment(String location) {
+        return SegmentLocation.parse(location) != null;
+    }
+
+    /** Counts the payload's needle as dead; the space is reclaimed by compaction. */
+    @Transactional
+    public void release(String location) {
+        SegmentLocation needle = SegmentLocation.parse(location);
+        if (needle == null || repository.addDeadBytes(needle.segment().toString(), HEADER_BYTES + needle.length()) == 0) {
+            log.warn("No segment record for [{}]", location);
+        }
+    }
+
+    /** Bytes a needle holding {@code length} payload bytes takes up. */
+    public static long needleBytes(long length) {
+        return HEADER_BYTES + length;
+    }
+
+    /** Locations in {@code segment} that a version row, or an object row stored before versions were kept, points to. */
+    public Set<String> findLiveLocations(Path segment) {
+        String pattern = escapeLike(segment + "#") + "%";
+        Set<String> live = new LinkedHashSet<>(versionRepository.findStoragePathsLike(pattern));
+        live.addAll(objectRepository.findStoragePathsLike(pattern));
+        live.removeIf(location -> {
+            SegmentLocation needle = SegmentLocation.parse(location);
+            return needle == null || !needle.segment().equals(segment);
+        });
+        return live;
+    }
+
+    /**
+     * Records the final size of a segment and recounts its dead bytes as
+     * {@code size} minus the live needles. The row lock holds back deletes
+     * releasing needles of this segment, so each is either already gone
+     * from the rows or adds its bytes after the recount.
+     */
+    public void seal(String segmentId, Path path, long size) {
+        ownTransaction.executeWithoutResult(status -> {
+            SegmentEntity segment = repository.findByIdForUpdate(segmentId)
+                    .orElseThrow(() -> new IllegalStateException("No segment record for " + path));
+            long liveBytes = findLiveLocations(path).stream()
+                    .mapToLong(location -> needleBytes(SegmentLocation.parse(location).length()))
+                    .sum();
+            segment.setSize(size);
+            segment.setSealedAt(Instant.now());
+            segment.setDeadBytes(Math.max(0, size - liveBytes));
+        });
+    }
+
+    @PreDestroy
+    public synchronized void close() throws IOException {
+        if (active != null) {
+            seal(active);
+            active = null;
+        }
+    }
+
+    // ----------------------------------------------------------------------
+    // APPEND
+    // ----------------------------------------------------------------------
+
+    private synchronized SegmentLocation append(FileChannel source, long position, long length) throws IOException {
+        ActiveSegment segment = activeFor(length);
+
+        long start = segment.size;
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES)
+                .putInt(NEEDLE_MAGIC)
+                .putLong(length)
+                .flip();
+        while (header.hasRemaining()) {
+            segment.channel.write(header, start + header.position());
+        }
+
+        long payloadOffset = start + HEADER_BYTES;
+        long copied = 0;
+        source.position(position);
+        while (copied < length) {
+            long n = segment.channel.transferFrom(source, payloadOffset + copied, length - copied);
+            if (n <= 0) {
+                throw new IOException("Payload ended after " + copied + " of " + length + " bytes");
+            }
+            copied += n;
+        }
+
+        // A failed append is overwritten by the next one
+        segment.size = payloadOffset + length;
+        return new SegmentLocation(segment.path, payloadOffset, length);
+    }
+
+    private ActiveSegment activeFor(long length) throws IOException {
+        if (active != null
+                && active.size + needleBytes(length) <= Math.max(maxSegmentSize, needleBytes(length))
+                && active.openedAt.plus(maxOpenTime).isAfter(Instant.now())) {
+            return active;
+        }
+        if (active != null) {
+            seal(active);
+            active = null;
+        }
+
+        String id = UUID.randomUUID().toString();
+        Path path = Paths.get(storageBackend.locate(SEGMENT_DIRECTORY + "/" + id + SEGMENT_SUFFIX));
+        Files.createDirectories(path.getParent());
+        FileChannel channel = FileChannel.open(
+                path,
+                StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ,
+                StandardOpenOption.WRITE
+        );
+        try {
+            ownTransaction.executeWithoutResult(status -> repository.save(SegmentEntity.builder()
+                    .id(id)
+                    .path(path.toString())
+                    .build()));
+        } catch (RuntimeException e) {
+            channel.close();
+            Files.deleteIfExists(path);
+            throw e;
+        }
+        active = new ActiveSegment(id, path, channel);
+        log.info("Opened segment [{}]", path);
+        return active;
+    }
+
+    private void seal(ActiveSegment segment) throws IOException {
+        segment.channel.close();
+        try {
+            seal(segment.id, segment.path, segment.size);
+            log.info("Sealed segment [{}] at {} bytes", segment.path, segment.size);
+        } catch (RuntimeException e) {
+            // Picked up as abandoned by compaction once max-open-time has passed
+            log.warn("Could not seal segment [{}]", segment.path, e);
+        }
+    }
+
+    private static String escapeLike(String value) {
+        return value
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+    }
+}
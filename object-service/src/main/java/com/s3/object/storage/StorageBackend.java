@@ -0,0 +1,57 @@
+package com.s3.object.storage;
+
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.buffer.DataBuffer;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Optional;
+
+/**
+ * Where object payloads physically live.
+ * <p>
+ * Writes are two-phase so metadata can be persisted between them: a payload
+ * is first {@link #stage staged} (streamed and hashed into a temp file close
+ * to its destination), then {@link #commit committed} under its key. Commit
+ * returns the backend-specific location, which callers record and use for
+ * every later read, so placement decisions only ever apply to new writes.
+ */
+public interface StorageBackend {
+
+    /** Streams {@code in} into a temp file for a later {@link #commit} of {@code key}. */
+    StoredFile stage(String key, InputStream in) throws IOException;
+
+    /**
+     * Non-blocking variant of {@link #stage(String, InputStream)}: buffers
+     * are hashed and written as they arrive, with no thread waiting on the
+     * client in between.
+     */
+    Mono<StoredFile> stage(String key, Flux<DataBuffer> content);
+
+    /**
+     * Makes a staged payload visible under {@code key}. Fails if the key
+     * already exists unless {@code replace} is set.
+     *
+     * @return location of the stored payload
+     */
+    String commit(StoredFile staged, String key, boolean replace) throws IOException;
+
+    /** Drops a staged payload that will not be committed. */
+    void discard(StoredFile staged);
+
+    /** Location a payload for {@code key} would be committed to. */
+    String locate(String key);
+
+    /** Payload as a resource; byte ranges are served from it directly. */
+    Resource get(String location);
+
+    /** Reads {@code length} bytes starting at {@code offset}. */
+    InputStream getRange(String location, long offset, long length) throws IOException;
+
+    /** @return {@code true} if a payload was deleted */
+    boolean delete(String location) throws IOException;
+
+    Optional<StorageStat> stat(String location) throws IOException;
+}
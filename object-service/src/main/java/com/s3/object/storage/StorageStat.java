@@ -0,0 +1,7 @@
+package com.s3.object.storage;
+
+import java.time.Instant;
+
+/** Size and modification time of a stored payload. */
+public record StorageStat(long size, Instant lastModified) {
+}
@@ -0,0 +1,10 @@
+package com.s3.object.storage;
+
+import java.nio.file.Path;
+
+/**
+ * A payload that has been fully streamed to a temporary file next to its
+ * final location, together with the size and SHA-256 computed on the way in.
+ */
+public record StoredFile(Path tempPath, long size, String checksum) {
+}
@@ -0,0 +1,34 @@
+CREATE TABLE IF NOT EXISTS public.multipart_uploads (
+    id VARCHAR(255) NOT NULL,
+    owner_id VARCHAR(255) NOT NULL,
+    bucket_name VARCHAR(255) NOT NULL,
+    file_name VARCHAR(255) NOT NULL,
+    content_type VARCHAR(255) NOT NULL,
+    description VARCHAR(255),
+    access_level VARCHAR(255) NOT NULL,
+    initiated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+
+    CONSTRAINT multipart_uploads_pkey PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS public.multipart_upload_tags (
+    upload_id VARCHAR(255) NOT NULL,
+    tag VARCHAR(255) NOT NULL,
+
+    CONSTRAINT fk_multipart_upload_tags_upload
+        FOREIGN KEY (upload_id)
+        REFERENCES public.multipart_uploads(id)
+        ON DELETE CASCADE
+);
+
+CREATE TABLE IF NOT EXISTS public.multipart_parts (
+    id VARCHAR(255) NOT NULL,
+    upload_id VARCHAR(255) NOT NULL,
+    part_number INTEGER NOT NULL,
+    size BIGINT NOT NULL,
+    checksum VARCHAR(255) NOT NULL,
+    uploaded_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+
+    CONSTRAINT multipart_parts_pkey PRIMARY KEY (id),
+    CONSTRAINT uk_multipart_parts_upload_part UNIQUE (upload_id, part_number)
+);
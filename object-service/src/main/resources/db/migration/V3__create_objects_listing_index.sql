@@ -0,0 +1,4 @@
+-- Keyset listing walks keys in byte order (COLLATE "C"), matching S3 ordering
+-- and independent of the database locale.
+CREATE INDEX IF NOT EXISTS idx_objects_bucket_file_name_c
+    ON public.objects (bucket_name, file_name COLLATE "C");
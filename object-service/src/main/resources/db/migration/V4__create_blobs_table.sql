@@ -0,0 +1,8 @@
+CREATE TABLE IF NOT EXISTS public.blobs (
+    hash VARCHAR(64) NOT NULL,
+    size BIGINT NOT NULL,
+    ref_count INTEGER NOT NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+
+    CONSTRAINT blobs_pkey PRIMARY KEY (hash)
+);
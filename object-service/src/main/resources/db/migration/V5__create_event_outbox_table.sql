@@ -0,0 +1,17 @@
+-- object-service's own outbox (s3.events.outbox.table); relayed under a lock on this table name
+CREATE TABLE IF NOT EXISTS public.object_event_outbox (
+    id BIGSERIAL NOT NULL,
+    topic VARCHAR(255) NOT NULL,
+    event_key VARCHAR(255),
+    payload TEXT NOT NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    next_attempt_at TIMESTAMP NOT NULL,
+    attempts INTEGER NOT NULL DEFAULT 0,
+    last_error VARCHAR(1000),
+    sent_at TIMESTAMP,
+
+    CONSTRAINT object_event_outbox_pkey PRIMARY KEY (id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_object_event_outbox_pending
+    ON public.object_event_outbox(sent_at, next_attempt_at);
@@ -0,0 +1,19 @@
+CREATE TABLE IF NOT EXISTS public.bucket_deletion_jobs (
+    id VARCHAR(255) NOT NULL,
+    bucket_name VARCHAR(255) NOT NULL,
+    owner_id VARCHAR(255) NOT NULL,
+    bucket_deleted_at TIMESTAMP NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    last_key VARCHAR(1024) NOT NULL DEFAULT '',
+    objects_deleted BIGINT NOT NULL DEFAULT 0,
+    files_failed BIGINT NOT NULL DEFAULT 0,
+    last_error VARCHAR(1000),
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    completed_at TIMESTAMP,
+
+    CONSTRAINT bucket_deletion_jobs_pkey PRIMARY KEY (id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_bucket_deletion_jobs_bucket
+    ON public.bucket_deletion_jobs(bucket_name, created_at);
@@ -0,0 +1,19 @@
+CREATE TABLE IF NOT EXISTS public.object_payload_versions (
+    id VARCHAR(255) NOT NULL,
+    object_id VARCHAR(255) NOT NULL,
+    version_number INTEGER NOT NULL,
+    size BIGINT NOT NULL,
+    checksum VARCHAR(255) NOT NULL,
+    content_type VARCHAR(255) NOT NULL,
+    storage_path VARCHAR(255) NOT NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+
+    CONSTRAINT object_payload_versions_pkey PRIMARY KEY (id),
+    CONSTRAINT uk_object_payload_versions_number UNIQUE (object_id, version_number)
+);
+
+-- Current version pointer and version counter; NULL for objects stored
+-- before versions were kept (their payload becomes a version on first overwrite)
+ALTER TABLE public.objects ADD COLUMN IF NOT EXISTS version_id VARCHAR(255);
+ALTER TABLE public.objects ADD COLUMN IF NOT EXISTS latest_version INTEGER;
+ALTER TABLE public.objects ADD COLUMN IF NOT EXISTS last_modified TIMESTAMP;
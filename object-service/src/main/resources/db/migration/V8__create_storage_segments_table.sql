@@ -0,0 +1,19 @@
+CREATE TABLE IF NOT EXISTS public.storage_segments (
+    id VARCHAR(255) NOT NULL,
+    path VARCHAR(1024) NOT NULL,
+    size BIGINT,
+    dead_bytes BIGINT NOT NULL DEFAULT 0,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    sealed_at TIMESTAMP,
+    compacted_at TIMESTAMP,
+
+    CONSTRAINT storage_segments_pkey PRIMARY KEY (id),
+    CONSTRAINT uk_storage_segments_path UNIQUE (path)
+);
+
+-- Packed payloads are recorded as '<segment path>#<offset>+<length>';
+-- compaction finds a segment's live needles by location prefix
+CREATE INDEX IF NOT EXISTS idx_objects_storage_path
+    ON public.objects (storage_path text_pattern_ops);
+CREATE INDEX IF NOT EXISTS idx_object_payload_versions_storage_path
+    ON public.object_payload_versions (storage_path text_pattern_ops);